@@ -0,0 +1,64 @@
+package com.leroy.switchbutton;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.test.AndroidTestCase;
+import android.view.View;
+
+import com.leroy.switchbutton.widget.FlatRenderer;
+import com.leroy.switchbutton.widget.SwitchButton;
+
+/**
+ * Checks that a frame of {@link SwitchButton} paints each pixel about once.
+ */
+public class SwitchButtonOverdrawTest extends AndroidTestCase {
+    private static final double MAX_OVERDRAW = 1.25;
+    // the flat spot is painted over the track on purpose, see FlatRenderer
+    private static final double MAX_FLAT_OVERDRAW = 1.3;
+
+    public void testSwitchOffOverdraw() {
+        SwitchButton switchButton = new SwitchButton(getContext());
+        assertOverdraw(switchButton);
+    }
+
+    public void testSwitchOnOverdraw() {
+        SwitchButton switchButton = new SwitchButton(getContext());
+        switchButton.setChecked(true);
+        assertOverdraw(switchButton);
+    }
+
+    public void testFlatRendererOverdraw() {
+        SwitchButton switchButton = new SwitchButton(getContext());
+        switchButton.setRenderer(new FlatRenderer());
+        assertOverdraw(switchButton, MAX_FLAT_OVERDRAW);
+    }
+
+    public void testCounterDisabledByDefault() {
+        SwitchButton switchButton = new SwitchButton(getContext());
+        draw(switchButton);
+        assertFalse(switchButton.isOverdrawDebugEnabled());
+        assertEquals(0, switchButton.getFramePixelsDrawn());
+    }
+
+    private void assertOverdraw(SwitchButton switchButton) {
+        assertOverdraw(switchButton, MAX_OVERDRAW);
+    }
+
+    private void assertOverdraw(SwitchButton switchButton, double maxOverdraw) {
+        switchButton.setOverdrawDebugEnabled(true);
+        draw(switchButton);
+        long drawn = switchButton.getFramePixelsDrawn();
+        long covered = switchButton.getFramePixelsCovered();
+        assertTrue(covered > 0);
+        assertTrue("overdraw " + (double) drawn / covered, drawn <= covered * maxOverdraw);
+    }
+
+    private void draw(SwitchButton switchButton) {
+        int spec = View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED);
+        switchButton.measure(spec, spec);
+        switchButton.layout(0, 0, switchButton.getMeasuredWidth(), switchButton.getMeasuredHeight());
+        Bitmap bitmap = Bitmap.createBitmap(switchButton.getWidth(), switchButton.getHeight(), Bitmap.Config.ARGB_8888);
+        switchButton.draw(new Canvas(bitmap));
+        bitmap.recycle();
+    }
+}
@@ -0,0 +1,172 @@
+package com.leroy.switchbutton;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.os.SystemClock;
+import android.test.AndroidTestCase;
+import android.util.Log;
+import android.view.View;
+
+import com.leroy.switchbutton.widget.SwitchGrid;
+
+/**
+ * Draws a {@link SwitchGrid} of 10k cells and checks that the frame time and memory of the grid
+ * depend on the visible cells only.
+ */
+public class SwitchGridBenchmarkTest extends AndroidTestCase {
+    private static final String TAG = "SwitchGridBenchmark";
+
+    private static final int CELL_COUNT = 10000;
+    // not a multiple of the columns, so the last row is only partly filled
+    private static final int PARTIAL_CELL_COUNT = CELL_COUNT + 3;
+    private static final int SMALL_CELL_COUNT = 200;
+    private static final int COLUMN_COUNT = 8;
+    private static final int CELL_SPACING = 16;
+    private static final int WIDTH = 1080;
+    private static final int HEIGHT = 1920;
+    private static final int FRAMES = 30;
+    // both grids fill the screen, so the large one should be about as fast, the margin is for noise
+    private static final int MAX_FRAME_TIME_RATIO = 3;
+    private static final int HUGE_CELL_COUNT = 1000000;
+    // a bit per cell is 125KB, one object per cell would take well over 10MB
+    private static final long MAX_HUGE_GRID_MEMORY = 1024 * 1024;
+
+    public void testDrawsOnlyVisibleCells() {
+        SwitchGrid grid = createGrid(PARTIAL_CELL_COUNT);
+        Bitmap bitmap = Bitmap.createBitmap(WIDTH, HEIGHT, Bitmap.Config.ARGB_8888);
+        Canvas canvas = new Canvas(bitmap);
+
+        grid.scrollTo(0, Integer.MAX_VALUE);
+        int maxScrollY = grid.getScrollY();
+        assertTrue(maxScrollY > 0);
+
+        assertDrawnCells(grid, canvas, 0);
+        assertDrawnCells(grid, canvas, maxScrollY / 2);
+        assertDrawnCells(grid, canvas, maxScrollY);
+        bitmap.recycle();
+    }
+
+    public void testCheckedStates() {
+        SwitchGrid grid = createGrid(CELL_COUNT);
+        for (int i = 0; i < CELL_COUNT; i += 3) {
+            grid.setChecked(i, true);
+        }
+        for (int i = 0; i < CELL_COUNT; i++) {
+            assertEquals(i % 3 == 0, grid.isChecked(i));
+        }
+        // a detached grid jumps to the new state without animating
+        assertEquals(0, grid.getAnimatingCellCount());
+
+        grid.setCellCount(CELL_COUNT / 2 + 1);
+        grid.setCellCount(CELL_COUNT);
+        assertTrue(grid.isChecked(CELL_COUNT / 2 - 2));
+        assertFalse(grid.isChecked(CELL_COUNT / 2 + 1));
+    }
+
+    public void testIndexOutOfBounds() {
+        SwitchGrid grid = createGrid(SMALL_CELL_COUNT);
+        try {
+            grid.isChecked(SMALL_CELL_COUNT);
+            fail();
+        } catch (IndexOutOfBoundsException expected) {
+        }
+        try {
+            grid.setChecked(-1, true);
+            fail();
+        } catch (IndexOutOfBoundsException expected) {
+        }
+    }
+
+    public void testScrollClampedWhenContentShrinks() {
+        SwitchGrid grid = createGrid(CELL_COUNT);
+        grid.scrollTo(0, Integer.MAX_VALUE);
+        assertTrue(grid.getScrollY() > 0);
+        grid.setCellCount(SMALL_CELL_COUNT);
+        assertEquals(0, grid.getScrollY());
+    }
+
+    public void testFrameTime() {
+        long small = measureFrameTime(createGrid(SMALL_CELL_COUNT));
+        long large = measureFrameTime(createGrid(CELL_COUNT));
+        Log.i(TAG, CELL_COUNT + " cells: " + large / 1000 + "us/frame, "
+                + SMALL_CELL_COUNT + " cells: " + small / 1000 + "us/frame");
+        assertTrue("frame time " + large + "ns vs " + small + "ns", large < small * MAX_FRAME_TIME_RATIO);
+    }
+
+    public void testMemoryIndependentOfCellCount() {
+        long before = usedMemory();
+        SwitchGrid grid = createGrid(HUGE_CELL_COUNT);
+        long used = usedMemory() - before;
+        Log.i(TAG, HUGE_CELL_COUNT + " cells: " + used / 1024 + "KB");
+        assertTrue("grid uses " + used + " bytes", used < MAX_HUGE_GRID_MEMORY);
+        // keeps the grid reachable until the memory is measured
+        assertEquals(HUGE_CELL_COUNT, grid.getCellCount());
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            System.runFinalization();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private void assertDrawnCells(SwitchGrid grid, Canvas canvas, int scrollY) {
+        grid.scrollTo(0, scrollY);
+        grid.draw(canvas);
+        assertEquals("scrolled to " + grid.getScrollY(), countVisibleCells(grid), grid.getDrawnCellCount());
+    }
+
+    /**
+     * @return the cells that overlap the viewport, counted row by row from the layout of the grid.
+     */
+    private int countVisibleCells(SwitchGrid grid) {
+        int cellHeight = grid.getCellWidth() / 2;
+        int rowHeight = cellHeight + grid.getCellSpacing();
+        int rowCount = (grid.getCellCount() + COLUMN_COUNT - 1) / COLUMN_COUNT;
+        int top = grid.getScrollY();
+        int bottom = top + grid.getHeight();
+        int visible = 0;
+        for (int row = 0; row < rowCount; row++) {
+            int rowTop = row * rowHeight;
+            if (rowTop < bottom && rowTop + cellHeight > top) {
+                visible += Math.min(COLUMN_COUNT, grid.getCellCount() - row * COLUMN_COUNT);
+            }
+        }
+        return visible;
+    }
+
+    private long measureFrameTime(SwitchGrid grid) {
+        Bitmap bitmap = Bitmap.createBitmap(WIDTH, HEIGHT, Bitmap.Config.ARGB_8888);
+        Canvas canvas = new Canvas(bitmap);
+        for (int i = 0; i < grid.getCellCount(); i += 2) {
+            grid.setChecked(i, true);
+        }
+        // warm up the renderer cache
+        grid.draw(canvas);
+
+        long start = SystemClock.elapsedRealtimeNanos();
+        for (int i = 0; i < FRAMES; i++) {
+            grid.draw(canvas);
+        }
+        long frameTime = (SystemClock.elapsedRealtimeNanos() - start) / FRAMES;
+        bitmap.recycle();
+        return frameTime;
+    }
+
+    /**
+     * Creates a grid whose columns exactly fill the width of the bitmap.
+     */
+    private SwitchGrid createGrid(int cellCount) {
+        SwitchGrid grid = new SwitchGrid(getContext());
+        grid.setColumnCount(COLUMN_COUNT);
+        grid.setCellSpacing(CELL_SPACING);
+        grid.setCellWidth((WIDTH - (COLUMN_COUNT - 1) * CELL_SPACING) / COLUMN_COUNT);
+        grid.setCellCount(cellCount);
+        grid.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+        grid.layout(0, 0, WIDTH, HEIGHT);
+        return grid;
+    }
+}
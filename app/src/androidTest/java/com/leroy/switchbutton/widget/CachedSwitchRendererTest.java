@@ -0,0 +1,66 @@
+package com.leroy.switchbutton.widget;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.test.AndroidTestCase;
+
+import com.leroy.switchbutton.widget.SwitchRenderer.State;
+
+/**
+ * Checks that the resources of a renderer class are shared and cleared for all its instances.
+ */
+public class CachedSwitchRendererTest extends AndroidTestCase {
+    private SwitchRenderContext context;
+    private Canvas canvas;
+    private Bitmap bitmap;
+
+    static class CountingRenderer extends CachedSwitchRenderer<Object> {
+        static int created;
+
+        @Override
+        protected Object createResources(SwitchRenderContext context) {
+            created++;
+            return new Object();
+        }
+
+        @Override
+        protected void onDraw(Canvas canvas, SwitchRenderContext context, Object resources, State state, float progress) {
+        }
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        context = new SwitchRenderContext();
+        context.setGeometry(getContext().getResources(), 120, 60, 6);
+        bitmap = Bitmap.createBitmap(1, 1, Bitmap.Config.ARGB_8888);
+        canvas = new Canvas(bitmap);
+        new CountingRenderer().clearCache();
+        CountingRenderer.created = 0;
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        bitmap.recycle();
+        super.tearDown();
+    }
+
+    public void testResourcesSharedByInstances() {
+        CountingRenderer first = new CountingRenderer();
+        CountingRenderer second = new CountingRenderer();
+        first.draw(canvas, context, State.SWITCH_ON, 0);
+        second.draw(canvas, context, State.SWITCH_ON, 0);
+        assertEquals(1, CountingRenderer.created);
+    }
+
+    public void testClearCacheReachesOtherInstances() {
+        CountingRenderer first = new CountingRenderer();
+        CountingRenderer second = new CountingRenderer();
+        first.draw(canvas, context, State.SWITCH_ON, 0);
+        second.draw(canvas, context, State.SWITCH_ON, 0);
+
+        first.clearCache();
+        second.draw(canvas, context, State.SWITCH_ON, 0);
+        assertEquals(2, CountingRenderer.created);
+    }
+}
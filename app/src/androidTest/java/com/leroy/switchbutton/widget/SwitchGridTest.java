@@ -0,0 +1,174 @@
+package com.leroy.switchbutton.widget;
+
+import android.os.SystemClock;
+import android.test.ActivityInstrumentationTestCase2;
+import android.test.UiThreadTest;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.ViewConfiguration;
+import android.view.accessibility.AccessibilityNodeInfo;
+import android.view.accessibility.AccessibilityNodeProvider;
+
+import com.leroy.switchbutton.MainActivity;
+import com.leroy.switchbutton.R;
+
+/**
+ * Exercises a {@link SwitchGrid} attached to a window: animations, touch and accessibility.
+ * Animations are driven by calling {@link SwitchGrid#stepAnimations(long)} with made up frame times.
+ */
+public class SwitchGridTest extends ActivityInstrumentationTestCase2<MainActivity> {
+    private static final int CELL_COUNT = 1000;
+    private static final long FRAME_TIME = 1000;
+
+    private SwitchGrid grid;
+
+    public SwitchGridTest() {
+        super(MainActivity.class);
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        final MainActivity activity = getActivity();
+        getInstrumentation().runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                grid = new SwitchGrid(activity);
+                grid.setCellCount(CELL_COUNT);
+                activity.setContentView(grid);
+            }
+        });
+        getInstrumentation().waitForIdleSync();
+    }
+
+    @UiThreadTest
+    public void testAnimationRunsToTheEnd() {
+        grid.setChecked(0, true);
+        assertEquals(1, grid.getAnimatingCellCount());
+
+        int duration = grid.getDuration();
+        grid.stepAnimations(FRAME_TIME);
+        assertEquals(0f, grid.getAnimationProgress(0));
+        grid.stepAnimations(FRAME_TIME + duration / 2);
+        assertEquals(0.5f, grid.getAnimationProgress(0), 0.01f);
+        grid.stepAnimations(FRAME_TIME + duration);
+        assertEquals(0, grid.getAnimatingCellCount());
+        assertTrue(grid.isChecked(0));
+    }
+
+    @UiThreadTest
+    public void testToggleIgnoredWhileAnimating() {
+        int duration = grid.getDuration();
+        grid.setChecked(0, true);
+        grid.stepAnimations(FRAME_TIME);
+        grid.stepAnimations(FRAME_TIME + duration / 2);
+        float before = grid.getAnimationProgress(0);
+
+        // reversing midway would make the spot jump, the toggle is dropped like in SwitchButton
+        grid.setChecked(0, false);
+        assertTrue(grid.isChecked(0));
+        assertEquals(before, grid.getAnimationProgress(0));
+
+        grid.stepAnimations(FRAME_TIME + duration * 3 / 4);
+        assertTrue(grid.getAnimationProgress(0) > before);
+        grid.stepAnimations(FRAME_TIME + duration);
+
+        grid.setChecked(0, false);
+        assertFalse(grid.isChecked(0));
+    }
+
+    @UiThreadTest
+    public void testDetachStopsAnimations() {
+        grid.setChecked(1, true);
+        assertEquals(1, grid.getAnimatingCellCount());
+        getActivity().setContentView(new View(getActivity()));
+        assertEquals(0, grid.getAnimatingCellCount());
+        assertTrue(grid.isChecked(1));
+    }
+
+    @UiThreadTest
+    public void testTapTogglesCell() {
+        tap(0);
+        assertTrue(grid.isChecked(0));
+    }
+
+    @UiThreadTest
+    public void testDisabledGridIgnoresTaps() {
+        grid.setEnabled(false);
+        tap(0);
+        assertFalse(grid.isChecked(0));
+    }
+
+    @UiThreadTest
+    public void testSlowDragScrolls() {
+        int touchSlop = ViewConfiguration.get(getActivity()).getScaledTouchSlop();
+        float x = grid.getWidth() / 2;
+        float y = grid.getHeight() / 2;
+        long downTime = SystemClock.uptimeMillis();
+        sendTouch(downTime, MotionEvent.ACTION_DOWN, x, y);
+
+        // past the slop by one pixel, the slop itself must not be scrolled
+        y -= touchSlop + 1;
+        sendTouch(downTime, MotionEvent.ACTION_MOVE, x, y);
+        assertEquals(1, grid.getScrollY());
+
+        // moves of less than a pixel add up
+        for (int i = 0; i < 40; i++) {
+            y -= 0.5f;
+            sendTouch(downTime, MotionEvent.ACTION_MOVE, x, y);
+        }
+        assertEquals(21, grid.getScrollY());
+        sendTouch(downTime, MotionEvent.ACTION_CANCEL, x, y);
+    }
+
+    @UiThreadTest
+    public void testAccessibilityNodes() {
+        AccessibilityNodeProvider provider = grid.getAccessibilityNodeProvider();
+        assertNotNull(provider);
+
+        AccessibilityNodeInfo node = provider.createAccessibilityNodeInfo(2);
+        assertTrue(node.isCheckable());
+        assertFalse(node.isChecked());
+        assertTrue(node.isEnabled());
+        assertEquals(getActivity().getString(R.string.switch_grid_cell, 3), node.getContentDescription().toString());
+        node.recycle();
+
+        assertTrue(provider.performAction(2, AccessibilityNodeInfo.ACTION_CLICK, null));
+        assertTrue(grid.isChecked(2));
+        node = provider.createAccessibilityNodeInfo(2);
+        assertTrue(node.isChecked());
+        node.recycle();
+
+        grid.setEnabled(false);
+        assertFalse(provider.performAction(3, AccessibilityNodeInfo.ACTION_CLICK, null));
+        assertFalse(grid.isChecked(3));
+    }
+
+    public void testInvalidCellSizes() {
+        try {
+            grid.setCellWidth(1);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            grid.setCellSpacing(-1);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    private void tap(int index) {
+        float x = grid.getPaddingLeft() + (index % grid.getColumnCount()) * (grid.getCellWidth() + grid.getCellSpacing())
+                + grid.getCellWidth() / 2;
+        float y = grid.getPaddingTop() + grid.getCellWidth() / 4;
+        long downTime = SystemClock.uptimeMillis();
+        sendTouch(downTime, MotionEvent.ACTION_DOWN, x, y);
+        sendTouch(downTime, MotionEvent.ACTION_UP, x, y);
+    }
+
+    private void sendTouch(long downTime, int action, float x, float y) {
+        MotionEvent event = MotionEvent.obtain(downTime, SystemClock.uptimeMillis(), action, x, y, 0);
+        grid.onTouchEvent(event);
+        event.recycle();
+    }
+}
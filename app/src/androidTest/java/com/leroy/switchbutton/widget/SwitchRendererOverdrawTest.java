@@ -0,0 +1,108 @@
+package com.leroy.switchbutton.widget;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.test.AndroidTestCase;
+
+import com.leroy.switchbutton.widget.SwitchRenderer.State;
+
+/**
+ * Checks the overdraw of every state of the renderers, animation frames included.
+ */
+public class SwitchRendererOverdrawTest extends AndroidTestCase {
+    private static final double MAX_OVERDRAW = 1.25;
+    // the flat spot is painted over the track on purpose, see FlatRenderer
+    private static final double MAX_FLAT_OVERDRAW = 1.3;
+    private static final float[] PROGRESSES = {0.3f, 0.5f, 0.9f};
+
+    private SwitchRenderContext context;
+    private OverdrawCounter counter;
+    private Bitmap bitmap;
+    private Canvas canvas;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        context = new SwitchRenderContext();
+        counter = new OverdrawCounter();
+        int sw = dp2px(SwitchButton.DEFAULT_WIDTH);
+        int sh = dp2px(SwitchButton.DEFAULT_HEIGHT);
+        context.setGeometry(getContext().getResources(), sw, sh, dp2px(SwitchButton.DEFAULT_SPOT_PADDING));
+        setColors(SwitchButton.DEFAULT_SPOT_ON_COLOR, SwitchButton.DEFAULT_SPOT_ON_COLOR_IN);
+        context.setOverdrawCounter(counter);
+        bitmap = Bitmap.createBitmap(sw, sh, Bitmap.Config.ARGB_8888);
+        canvas = new Canvas(bitmap);
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        bitmap.recycle();
+        super.tearDown();
+    }
+
+    public void testDayNightStillOverdraw() {
+        DayNightRenderer renderer = new DayNightRenderer();
+        assertOverdraw(renderer, State.SWITCH_ON, 0);
+        assertOverdraw(renderer, State.SWITCH_OFF, 0);
+    }
+
+    public void testDayNightAnimationOverdraw() {
+        DayNightRenderer renderer = new DayNightRenderer();
+        for (float progress : PROGRESSES) {
+            assertOverdraw(renderer, State.SWITCH_ANIMATION_ON, progress);
+            assertOverdraw(renderer, State.SWITCH_ANIMATION_OFF, progress);
+        }
+    }
+
+    public void testFlatStillOverdraw() {
+        FlatRenderer renderer = new FlatRenderer();
+        assertOverdraw(renderer, State.SWITCH_ON, 0, MAX_FLAT_OVERDRAW);
+        assertOverdraw(renderer, State.SWITCH_OFF, 0, MAX_FLAT_OVERDRAW);
+    }
+
+    public void testFlatAnimationOverdraw() {
+        FlatRenderer renderer = new FlatRenderer();
+        for (float progress : PROGRESSES) {
+            assertOverdraw(renderer, State.SWITCH_ANIMATION_ON, progress, MAX_FLAT_OVERDRAW);
+            assertOverdraw(renderer, State.SWITCH_ANIMATION_OFF, progress, MAX_FLAT_OVERDRAW);
+        }
+    }
+
+    public void testTranslucentSpotKeepsTrack() {
+        setColors(0x80E1C348, 0x80FFDF6D);
+        DayNightRenderer renderer = new DayNightRenderer();
+        bitmap.eraseColor(Color.TRANSPARENT);
+        renderer.draw(canvas, context, State.SWITCH_ON, 0);
+        int spotX = context.getWidth() - context.getHeight() / 2;
+        int spotY = context.getHeight() / 2;
+        assertEquals(0xFF, Color.alpha(bitmap.getPixel(spotX, spotY)));
+    }
+
+    private void assertOverdraw(SwitchRenderer renderer, State state, float progress) {
+        assertOverdraw(renderer, state, progress, MAX_OVERDRAW);
+    }
+
+    private void assertOverdraw(SwitchRenderer renderer, State state, float progress, double maxOverdraw) {
+        counter.begin(context.getWidth(), context.getHeight());
+        renderer.draw(canvas, context, state, progress);
+        counter.end();
+        long drawn = counter.getPixelsDrawn();
+        long covered = counter.getPixelsCovered();
+        assertTrue(covered > 0);
+        assertTrue(state + " at " + progress + ": overdraw " + (double) drawn / covered,
+                drawn <= covered * maxOverdraw);
+    }
+
+    private void setColors(int spotOnColor, int spotOnColorIn) {
+        context.setColors(SwitchButton.DEFAULT_SWITCH_ON_COLOR, SwitchButton.DEFAULT_SWITCH_OFF_COLOR,
+                spotOnColor, spotOnColorIn,
+                SwitchButton.DEFAULT_SPOT_OFF_COLOR, SwitchButton.DEFAULT_SPOT_OFF_COLOR_IN,
+                SwitchButton.DEFAULT_SWITCH_ON_COLOR_OUT, SwitchButton.DEFAULT_SWITCH_OFF_COLOR_OUT);
+    }
+
+    private int dp2px(float dpValue) {
+        float scale = getContext().getResources().getDisplayMetrics().density;
+        return (int) (dpValue * scale + 0.5f);
+    }
+}
@@ -0,0 +1,86 @@
+package com.leroy.switchbutton.widget;
+
+import android.graphics.Canvas;
+import android.util.LruCache;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Base class for renderers that precompute resources (paths, bitmaps, positions) per geometry.
+ * The resources are kept in a cache keyed by {@link SwitchRenderContext#getGeometryKey()} and
+ * shared by every instance of the same renderer class, so switches of the same size only
+ * build them once.
+ *
+ * @param <T> The precomputed resources, must not be modified once created.
+ */
+public abstract class CachedSwitchRenderer<T> implements SwitchRenderer {
+    private static final int MAX_CACHED_GEOMETRIES = 8;
+
+    private static final Map<Class<?>, ResourceCache> CACHES = new HashMap<>();
+
+    /**
+     * The cache of one renderer class. The generation changes on every clear, so instances
+     * can tell their remembered resources went stale.
+     */
+    private static class ResourceCache extends LruCache<Long, Object> {
+        int generation;
+
+        ResourceCache() {
+            super(MAX_CACHED_GEOMETRIES);
+        }
+    }
+
+    private final ResourceCache cache;
+    // the geometry of the last frame, hit by almost every frame without boxing a key
+    private long lastKey;
+    private int lastGeneration;
+    private T lastResources;
+
+    protected CachedSwitchRenderer() {
+        ResourceCache c = CACHES.get(getClass());
+        if (c == null) {
+            c = new ResourceCache();
+            CACHES.put(getClass(), c);
+        }
+        cache = c;
+    }
+
+    @Override
+    public final void draw(Canvas canvas, SwitchRenderContext context, State state, float progress) {
+        onDraw(canvas, context, obtainResources(context), state, progress);
+    }
+
+    /**
+     * Drops the resources cached for this renderer class, for every instance of it.
+     */
+    public void clearCache() {
+        cache.evictAll();
+        cache.generation++;
+        lastResources = null;
+    }
+
+    @SuppressWarnings("unchecked")
+    protected T obtainResources(SwitchRenderContext context) {
+        long key = context.getGeometryKey();
+        if (lastResources != null && key == lastKey && lastGeneration == cache.generation) {
+            return lastResources;
+        }
+        T resources = (T) cache.get(key);
+        if (resources == null) {
+            resources = createResources(context);
+            cache.put(key, resources);
+        }
+        lastKey = key;
+        lastGeneration = cache.generation;
+        lastResources = resources;
+        return resources;
+    }
+
+    /**
+     * Builds the resources for the geometry of the given context, called once per geometry.
+     */
+    protected abstract T createResources(SwitchRenderContext context);
+
+    protected abstract void onDraw(Canvas canvas, SwitchRenderContext context, T resources, State state, float progress);
+}
@@ -0,0 +1,422 @@
+package com.leroy.switchbutton.widget;
+
+import android.animation.ArgbEvaluator;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.graphics.drawable.BitmapDrawable;
+
+import com.leroy.switchbutton.R;
+
+/**
+ * The day/night look of {@link SwitchButton}: a sun with a cloud when on, a moon
+ * with craters and stars when off.
+ */
+public class DayNightRenderer extends CachedSwitchRenderer<DayNightRenderer.Geometry> {
+    private static final int DEFAULT_BORDER_WIDTH = 4;
+
+    private static final int SWITCH_OFF_POS = 0;
+    private static final int SWITCH_ON_POS = 1;
+
+    private static final ArgbEvaluator ARGB_EVALUATOR = new ArgbEvaluator();
+
+    /**
+     * Shapes that only depend on the size of the switch. The stroke, spot and track
+     * of the still states are cut out of each other once here instead of on every frame.
+     */
+    static class Geometry {
+        float[] rectAttrs;
+        float strokeInset;
+        float strokeWidth;
+        int borderWidth;
+        float[][] stars;
+        Bitmap cloudBitmap;
+        Rect cloudSrcRect;
+        float[] onOvalAttrs;
+        float[] offOvalAttrs;
+        Path[] onLayers;
+        Path[] offLayers;
+    }
+
+    private final LayerCompositor compositor = new LayerCompositor();
+    private final Paint fillPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint ringPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint bitmapPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final RectF rectF = new RectF();
+    private final int[] layerColors = new int[5];
+    private final float[] starRadius = new float[7];
+    private final float[] ovalAttrs = new float[4];
+    private final float[] shadeAttrs = new float[5];
+    private int layerCount;
+    private Path[] currentCutLayers;
+
+    public DayNightRenderer() {
+        fillPaint.setStyle(Paint.Style.FILL);
+        ringPaint.setStyle(Paint.Style.STROKE);
+        bitmapPaint.setDither(true);
+        bitmapPaint.setFilterBitmap(true);
+    }
+
+    @Override
+    protected Geometry createResources(SwitchRenderContext context) {
+        int sw = context.getWidth();
+        int sh = context.getHeight();
+
+        Geometry geometry = new Geometry();
+        geometry.rectAttrs = compRoundRectAttr(context, SWITCH_OFF_POS);
+        geometry.strokeInset = context.dp2pxFloat((float) 2.4);
+        geometry.strokeWidth = context.dp2pxFloat((float) 3.6);
+        geometry.borderWidth = context.dp2px(DEFAULT_BORDER_WIDTH);
+
+        geometry.stars = new float[][]{
+                {(float) (sw / 2.0), (float) (sh / 5.0)},
+                {(float) (sw * 3 / 4.0), (float) (sh / 5.0)},
+                {(float) (sw * 5 / 8.0), (float) (sh * 2 / 5.0)},
+                {(float) (sw * 27 / 40.0), (float) (sh * 3 / 5.0)},
+                {(float) (sw * 5 / 6.0), (float) (sh * 9 / 20.0)},
+                {(float) (sw * 4 / 5.0), (float) (sh * 7 / 10.0)},
+                {(float) (sw * 11 / 20.0), (float) (sh * 3 / 4.0)}
+        };
+
+        geometry.cloudBitmap = ((BitmapDrawable) context.getResources().getDrawable(R.drawable.cloud)).getBitmap();
+        geometry.cloudSrcRect = new Rect(0, 0, geometry.cloudBitmap.getWidth(), geometry.cloudBitmap.getHeight());
+
+        geometry.onOvalAttrs = compOvalAttr(context, SWITCH_ON_POS, new float[4]);
+        geometry.offOvalAttrs = compOvalAttr(context, SWITCH_OFF_POS, new float[4]);
+        compositeLayers(geometry, null, geometry.onOvalAttrs);
+        geometry.onLayers = compositor.cutLayers();
+        compositeLayers(geometry, null, geometry.offOvalAttrs);
+        geometry.offLayers = compositor.cutLayers();
+        return geometry;
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas, SwitchRenderContext context, Geometry geometry, State state, float progress) {
+        switch (state) {
+            case SWITCH_ON:
+                drawSwitchOn(canvas, context, geometry);
+                break;
+            case SWITCH_OFF:
+                drawSwitchOff(canvas, context, geometry);
+                break;
+            case SWITCH_ANIMATION_ON:
+                drawSwitchOnAnim(canvas, context, geometry, progress);
+                break;
+            case SWITCH_ANIMATION_OFF:
+                drawSwitchOffAnim(canvas, context, geometry, progress);
+                break;
+        }
+    }
+
+    private void drawSwitchOn(Canvas canvas, SwitchRenderContext context, Geometry geometry) {
+        setLayerColors(SwitchButton.DEFAULT_SWITCH_ON_COLOR_OUT, context.getSpotOnColorIn(),
+                context.getSpotOnColor(), context.getSwitchOnColor());
+        drawBody(canvas, context, geometry, geometry.onLayers, null, geometry.onOvalAttrs);
+        drawCloud(canvas, context, geometry, 1);
+        drawStroke(canvas, context);
+    }
+
+    private void drawSwitchOff(Canvas canvas, SwitchRenderContext context, Geometry geometry) {
+        float[] ovalAttrs = geometry.offOvalAttrs;
+        int spotOffColor = context.getSpotOffColor();
+        int spotOffColorIn = context.getSpotOffColorIn();
+        setLayerColors(SwitchButton.DEFAULT_SWITCH_OFF_COLOR_OUT, spotOffColorIn, spotOffColor, context.getSwitchOffColor());
+        drawBody(canvas, context, geometry, geometry.offLayers, null, ovalAttrs);
+        drawCircleDot(canvas, context, spotOffColor, spotOffColorIn, 1, ovalAttrs);
+        drawCircleDot2(canvas, context, spotOffColor, spotOffColorIn, 1, ovalAttrs);
+        drawCircleDot3(canvas, context, spotOffColor, spotOffColorIn, 1, ovalAttrs);
+        drawStar(canvas, context, geometry, SwitchButton.DEFAULT_SPOT_OFF_COLOR_IN, 1);
+        drawStroke(canvas, context);
+    }
+
+    private void drawSwitchOnAnim(Canvas canvas, SwitchRenderContext context, Geometry geometry, float currentPos) {
+        float[] ovalShadeOnAttrs = compRoundRectShadeOnAttr(context, currentPos * 3/2, shadeAttrs);
+        float[] ovalAttrs = compOvalAttr(context, currentPos* 3/2, this.ovalAttrs);
+        int color = compColor(currentPos, SwitchButton.DEFAULT_SPOT_OFF_COLOR, SwitchButton.DEFAULT_SPOT_ON_COLOR);
+        int colorIn = compColor(currentPos, SwitchButton.DEFAULT_SPOT_OFF_COLOR_IN, SwitchButton.DEFAULT_SPOT_ON_COLOR_IN);
+        int strokeColor = compColor(currentPos, SwitchButton.DEFAULT_SWITCH_OFF_COLOR_OUT, SwitchButton.DEFAULT_SWITCH_ON_COLOR_OUT);
+        setLayerColors(strokeColor, colorIn, color, color, context.getSwitchOnColor());
+        drawBody(canvas, context, geometry, null, ovalShadeOnAttrs, ovalAttrs);
+        if(currentPos > 0.6) {
+            drawCloud(canvas, context, geometry, currentPos);
+        }
+        drawStroke(canvas, context);
+    }
+
+    private void drawSwitchOffAnim(Canvas canvas, SwitchRenderContext context, Geometry geometry, float currentPos) {
+        float[] ovalAttrs;
+        if(currentPos > 2.0/3){
+            ovalAttrs = geometry.offOvalAttrs;
+        }else{
+            ovalAttrs = compOvalAttr(context, 1 - currentPos * 3/2, this.ovalAttrs);
+        }
+        float[] ovalShadeOffAttrs = compRoundRectShadeOffAttr(context, 1 - currentPos * 3/2, shadeAttrs);
+        int color = compColor(currentPos, SwitchButton.DEFAULT_SPOT_ON_COLOR, SwitchButton.DEFAULT_SPOT_OFF_COLOR);
+        int colorIn = compColor(currentPos, SwitchButton.DEFAULT_SPOT_ON_COLOR_IN, SwitchButton.DEFAULT_SPOT_OFF_COLOR_IN);
+        int strokeColor = compColor(currentPos, SwitchButton.DEFAULT_SWITCH_ON_COLOR_OUT, SwitchButton.DEFAULT_SWITCH_OFF_COLOR_OUT);
+        setLayerColors(strokeColor, colorIn, color, color, context.getSwitchOffColor());
+        drawBody(canvas, context, geometry, null, ovalShadeOffAttrs, ovalAttrs);
+        float dotPos = currentPos > 2.0/3 ? 1 : currentPos * 3/2;
+        drawCircleDot(canvas, context, SwitchButton.DEFAULT_SPOT_OFF_COLOR, SwitchButton.DEFAULT_SPOT_OFF_COLOR_IN, dotPos, ovalAttrs);
+        drawCircleDot2(canvas, context, SwitchButton.DEFAULT_SPOT_OFF_COLOR, SwitchButton.DEFAULT_SPOT_OFF_COLOR_IN, dotPos, ovalAttrs);
+        drawCircleDot3(canvas, context, SwitchButton.DEFAULT_SPOT_OFF_COLOR, SwitchButton.DEFAULT_SPOT_OFF_COLOR_IN, dotPos, ovalAttrs);
+        if(currentPos > 0.6) {
+            drawStar(canvas, context, geometry, SwitchButton.DEFAULT_SPOT_OFF_COLOR_IN, currentPos);
+        }
+        drawStroke(canvas, context);
+    }
+
+    /**
+     * Loads the stroke, spot, shade and track of a frame into the compositor, front to back.
+     */
+    private void compositeLayers(Geometry geometry, float[] shadeAttrs, float[] ovalAttrs) {
+        float[] rectAttrs = geometry.rectAttrs;
+        float strokeInset = geometry.strokeInset;
+        int borderWidth = geometry.borderWidth;
+
+        compositor.begin();
+        compositor.addRing(strokeInset, strokeInset, rectAttrs[2] - strokeInset, rectAttrs[3] - strokeInset,
+                geometry.strokeWidth);
+        compositor.addOval(ovalAttrs[0] + borderWidth, ovalAttrs[1] + borderWidth,
+                ovalAttrs[2] - borderWidth, ovalAttrs[3] - borderWidth);
+        compositor.addOval(ovalAttrs[0], ovalAttrs[1], ovalAttrs[2], ovalAttrs[3]);
+        if (shadeAttrs != null) {
+            compositor.addRoundRect(shadeAttrs[0], shadeAttrs[1], shadeAttrs[2], shadeAttrs[3], shadeAttrs[4]);
+        }
+        compositor.addRoundRect(rectAttrs[0], rectAttrs[1], rectAttrs[2], rectAttrs[3], rectAttrs[4]);
+    }
+
+    private void setLayerColors(int strokeColor, int spotColorIn, int spotColor, int trackColor) {
+        layerColors[0] = strokeColor;
+        layerColors[1] = spotColorIn;
+        layerColors[2] = spotColor;
+        layerColors[3] = trackColor;
+        layerCount = 4;
+    }
+
+    private void setLayerColors(int strokeColor, int spotColorIn, int spotColor, int shadeColor, int trackColor) {
+        layerColors[0] = strokeColor;
+        layerColors[1] = spotColorIn;
+        layerColors[2] = spotColor;
+        layerColors[3] = shadeColor;
+        layerColors[4] = trackColor;
+        layerCount = 5;
+    }
+
+    /**
+     * Draws the track, shade and spot filling each pixel about once. Still shapes come cut out of
+     * each other from the geometry while the colors above the track are opaque, otherwise the
+     * layers are clipped every frame. The stroke is left to {@link #drawStroke} so that it stays
+     * above the decorations.
+     */
+    private void drawBody(Canvas canvas, SwitchRenderContext context, Geometry geometry, Path[] cutLayers,
+                          float[] shadeAttrs, float[] ovalAttrs) {
+        currentCutLayers = cutLayers != null && isOpaqueAbove(layerCount - 1) ? cutLayers : null;
+        if (currentCutLayers == null) {
+            compositeLayers(geometry, shadeAttrs, ovalAttrs);
+        }
+        OverdrawCounter overdrawCounter = context.getOverdrawCounter();
+        for (int i = layerCount - 1; i > 0; i--) {
+            drawLayer(canvas, i, overdrawCounter);
+        }
+    }
+
+    private void drawStroke(Canvas canvas, SwitchRenderContext context) {
+        drawLayer(canvas, 0, context.getOverdrawCounter());
+    }
+
+    private void drawLayer(Canvas canvas, int layer, OverdrawCounter overdrawCounter) {
+        if (currentCutLayers != null) {
+            compositor.drawCut(canvas, currentCutLayers[layer], layerColors[layer], overdrawCounter);
+        } else {
+            compositor.drawClipped(canvas, layer, layerColors, overdrawCounter);
+        }
+    }
+
+    private boolean isOpaqueAbove(int layer) {
+        for (int i = 0; i < layer; i++) {
+            if (!LayerCompositor.isOpaque(layerColors[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void drawCircleDot(Canvas canvas, SwitchRenderContext context, int color,int colorIn, float pos, float[] attrs) {
+        float rad = attrs[2] - context.dp2px(9) - (attrs[0] + attrs[2])/2;
+        float x = attrs[2] - context.dp2px(9) - rad + (float)(rad * Math.cos(pos * Math.PI/3));
+        float y = (attrs[1] + attrs[3])/2 - (float)(rad * Math.sin(pos * Math.PI/3));
+        drawDot(canvas, context, color, colorIn, x, y, context.dp2px(7), context.dp2px(3));
+    }
+
+    private void drawCircleDot2(Canvas canvas, SwitchRenderContext context, int color,int colorIn, float pos, float[] attrs) {
+        float rad = attrs[2] - context.dp2px(7) - (attrs[0] + attrs[2])/2;
+        float x = attrs[2] - context.dp2px(7) - rad + (float)(rad * Math.cos(Math.PI * 5 /12 + pos * Math.PI* 5 /12));
+        float y = (attrs[1] + attrs[3])/2 - (float)(rad * Math.sin(Math.PI * 5 /12 + pos * Math.PI* 5 /12));
+        drawDot(canvas, context, color, colorIn, x, y, context.dp2px(5), context.dp2px(1));
+    }
+
+    private void drawCircleDot3(Canvas canvas, SwitchRenderContext context, int color,int colorIn, float pos, float[] attrs) {
+        float rad = attrs[2] - context.dp2px(9) - (attrs[0] + attrs[2])/2;
+        float x = attrs[2] - context.dp2px(9) - rad + (float)(rad * Math.cos(Math.PI * 16 /12 + pos * Math.PI* 5 /12));
+        float y = (attrs[1] + attrs[3])/2 - (float)(rad * Math.sin(Math.PI * 16 /12 + pos * Math.PI* 5 /12));
+        drawDot(canvas, context, color, colorIn, x, y, context.dp2px(5), context.dp2px(1));
+    }
+
+    /**
+     * Draws a dot as an outer ring plus a center so the two never overlap.
+     */
+    private void drawDot(Canvas canvas, SwitchRenderContext context, int color, int colorIn,
+                         float x, float y, float radius, float radiusIn) {
+        float ringIn = radiusIn - LayerCompositor.EDGE_BLEED;
+        ringPaint.setColor(color);
+        ringPaint.setStrokeWidth(radius - ringIn);
+        canvas.drawCircle(x, y, (radius + ringIn) / 2, ringPaint);
+        fillPaint.setColor(colorIn);
+        canvas.drawCircle(x, y, radiusIn, fillPaint);
+        OverdrawCounter overdrawCounter = context.getOverdrawCounter();
+        if (overdrawCounter != null) {
+            overdrawCounter.addRing(x, y, radius, ringIn);
+            overdrawCounter.addCircle(x, y, radiusIn);
+        }
+    }
+
+    private void drawCloud(Canvas canvas, SwitchRenderContext context, Geometry geometry, float pos) {
+        int sw = context.getWidth();
+        int sh = context.getHeight();
+
+        if(pos <= 0.9){
+            float t = pos*10 - 6;
+            rectF.set(sw/2 - context.dp2px(18) - context.dp2px(t), sh/2 - context.dp2px(4) - context.dp2px(t),
+                    sw/2 + context.dp2px(18) + context.dp2px(t), sh/2 + context.dp2px(20) + context.dp2px(t));
+        }else{
+            float t = 2*(pos*10 - 9);
+            rectF.set(sw/2 - context.dp2px(22) + context.dp2px(t), sh/2 - context.dp2px(8) + context.dp2px(t),
+                    sw/2 + context.dp2px(22) - context.dp2px(t), sh/2 + context.dp2px(24) - context.dp2px(t));
+        }
+        canvas.drawBitmap(geometry.cloudBitmap, geometry.cloudSrcRect, rectF, bitmapPaint);
+        OverdrawCounter overdrawCounter = context.getOverdrawCounter();
+        if (overdrawCounter != null) {
+            overdrawCounter.addRect(rectF);
+        }
+    }
+
+    private void drawStar(Canvas canvas, SwitchRenderContext context, Geometry geometry, int color, float pos) {
+        float[][] stars = geometry.stars;
+        fillPaint.setColor(color);
+
+        float t = 10 * pos - 6;
+        if(pos > 0.8){
+            t = 10 - 10 * pos;
+        }
+        float[] radius = starRadius;
+        radius[0] = 6 + 2*t;
+        radius[1] = 5 + 2*t;
+        radius[2] = 5 + 2*t;
+        radius[3] = 4 + 2*t;
+        radius[4] = 8 - 2*t;
+        radius[5] = 7 - 2*t;
+        radius[6] = 7 - 2*t;
+        OverdrawCounter overdrawCounter = context.getOverdrawCounter();
+        for (int i = 0; i < stars.length; i++) {
+            canvas.drawCircle(stars[i][0], stars[i][1], radius[i], fillPaint);
+            if (overdrawCounter != null) {
+                overdrawCounter.addCircle(stars[i][0], stars[i][1], radius[i]);
+            }
+        }
+    }
+
+    private float[] compRoundRectAttr(SwitchRenderContext context, float pos) {
+        int sw = context.getWidth();
+        int sh = context.getHeight();
+
+        float left = sw * pos;
+        float right = sw - left;
+        float top = sh * pos;
+        float bottom = sh - top;
+        float radius = (bottom - top) * 0.5f;
+
+        return new float[]{left, top, right, bottom, radius};
+    }
+
+    private float[] compRoundRectShadeOnAttr(SwitchRenderContext context, float pos, float[] attrs) {
+        int sw = context.getWidth();
+        int sh = context.getHeight();
+        int spotPadding = context.getSpotPadding();
+        int oh = sh - 2 * spotPadding;
+        float left, right, top, bottom;
+        if(pos < 0.35){
+            left = 0;
+            right = spotPadding + (sw - sh) * pos + oh;
+            top = spotPadding;
+            bottom = oh + top;
+        }else{
+            left = spotPadding + (sw - sh) * pos *2/3;
+            right = spotPadding + (sw - sh) * pos *2/3+ oh;
+            top = spotPadding;
+            bottom = oh + top;
+        }
+        float radius = (bottom - top) * 0.5f;
+        attrs[0] = left;
+        attrs[1] = top;
+        attrs[2] = right;
+        attrs[3] = bottom;
+        attrs[4] = radius;
+        return attrs;
+    }
+
+    private float[] compRoundRectShadeOffAttr(SwitchRenderContext context, float pos, float[] attrs) {
+        int sw = context.getWidth();
+        int sh = context.getHeight();
+        int spotPadding = context.getSpotPadding();
+        int oh = sh - 2 * spotPadding;
+        float left, right, top, bottom;
+
+        if(pos > 0.65){
+            left = spotPadding + (sw - sh) * pos;
+            right = sw - spotPadding;
+            top = spotPadding;
+            bottom = oh + top;
+        }else{
+            left = spotPadding + (sw - sh) * (2*pos + 1)/3;
+            right = spotPadding + (sw - sh) * (2*pos + 1)/3 + oh;
+            top = spotPadding;
+            bottom = oh + top;
+        }
+        float radius = (bottom - top) * 0.5f;
+        attrs[0] = left;
+        attrs[1] = top;
+        attrs[2] = right;
+        attrs[3] = bottom;
+        attrs[4] = radius;
+        return attrs;
+    }
+
+    private float[] compOvalAttr(SwitchRenderContext context, float pos, float[] attrs) {
+        if(pos > 1){
+            pos = 1;
+        }
+        int sw = context.getWidth();
+        int sh = context.getHeight();
+        int spotPadding = context.getSpotPadding();
+        int oh = sh - 2 * spotPadding;
+
+        float left = spotPadding + (sw - sh) * pos;
+        float right = left + oh;
+        float top = spotPadding;
+        float bottom = oh + top;
+
+        attrs[0] = left;
+        attrs[1] = top;
+        attrs[2] = right;
+        attrs[3] = bottom;
+        return attrs;
+    }
+
+    private int compColor(float fraction, int startColor, int endColor) {
+        return (Integer) ARGB_EVALUATOR.evaluate(fraction, startColor, endColor);
+    }
+}
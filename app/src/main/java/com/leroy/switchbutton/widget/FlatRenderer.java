@@ -0,0 +1,88 @@
+package com.leroy.switchbutton.widget;
+
+import android.animation.ArgbEvaluator;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.RectF;
+
+/**
+ * A minimal flat look: a track with a round spot, no stroke or decorations.
+ * Cheap enough for screens with many switches.
+ * <p>
+ * The spot is simply painted over the track, about 1.3x overdraw. Cutting the spot out of
+ * the track would need a path or a non-rectangular clip, which hardware rendering turns into
+ * a path texture or a stencil clip that costs more than the small circle painted twice.
+ */
+public class FlatRenderer extends CachedSwitchRenderer<FlatRenderer.Geometry> {
+    private static final ArgbEvaluator ARGB_EVALUATOR = new ArgbEvaluator();
+
+    static class Geometry {
+        RectF trackRect;
+        float trackRadius;
+        float spotRadius;
+    }
+
+    private final Paint paint = new Paint(Paint.ANTI_ALIAS_FLAG);
+
+    public FlatRenderer() {
+        paint.setStyle(Paint.Style.FILL);
+    }
+
+    @Override
+    protected Geometry createResources(SwitchRenderContext context) {
+        int sh = context.getHeight();
+
+        Geometry geometry = new Geometry();
+        geometry.trackRect = new RectF(0, 0, context.getWidth(), sh);
+        geometry.trackRadius = sh * 0.5f;
+        geometry.spotRadius = sh * 0.5f - context.getSpotPadding();
+        return geometry;
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas, SwitchRenderContext context, Geometry geometry, State state, float progress) {
+        float pos;
+        int trackColor;
+        int spotColor;
+        switch (state) {
+            case SWITCH_ON:
+                pos = 1;
+                trackColor = context.getSwitchOnColor();
+                spotColor = context.getSpotOnColor();
+                break;
+            case SWITCH_OFF:
+                pos = 0;
+                trackColor = context.getSwitchOffColor();
+                spotColor = context.getSpotOffColor();
+                break;
+            default:
+                pos = state == State.SWITCH_ANIMATION_ON ? progress : 1 - progress;
+                trackColor = compColor(pos, context.getSwitchOffColor(), context.getSwitchOnColor());
+                spotColor = compColor(pos, context.getSpotOffColor(), context.getSpotOnColor());
+                break;
+        }
+
+        float spotX = compSpotX(context, pos);
+        float spotY = context.getHeight() * 0.5f;
+        paint.setColor(trackColor);
+        canvas.drawRoundRect(geometry.trackRect, geometry.trackRadius, geometry.trackRadius, paint);
+        paint.setColor(spotColor);
+        canvas.drawCircle(spotX, spotY, geometry.spotRadius, paint);
+
+        OverdrawCounter overdrawCounter = context.getOverdrawCounter();
+        if (overdrawCounter != null) {
+            overdrawCounter.addRoundRect(geometry.trackRect, geometry.trackRadius);
+            overdrawCounter.addCircle(spotX, spotY, geometry.spotRadius);
+        }
+    }
+
+    private float compSpotX(SwitchRenderContext context, float pos) {
+        int sw = context.getWidth();
+        int sh = context.getHeight();
+        return sh * 0.5f + (sw - sh) * pos;
+    }
+
+    private int compColor(float fraction, int startColor, int endColor) {
+        return (Integer) ARGB_EVALUATOR.evaluate(fraction, startColor, endColor);
+    }
+}
@@ -0,0 +1,211 @@
+package com.leroy.switchbutton.widget;
+
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.RectF;
+import android.graphics.Region;
+
+/**
+ * Composites the layers of a switch (stroke, spot, shade, track) so that every pixel is
+ * filled about once. Layers are added front to back and drawn back to front, each one
+ * with the opaque layers above it left out. Colors are given when drawing, in the order
+ * the layers were added, and a translucent layer never hides what is beneath it.
+ * <p>
+ * Still shapes can be cut out of each other once with {@link #cutLayers()}; shapes that
+ * move every frame are drawn with {@link #drawClipped} instead, which clips the native
+ * round rect primitives rather than building new paths.
+ */
+class LayerCompositor {
+    /** Pixels left under an upper layer so anti-aliased edges do not show seams. */
+    static final float EDGE_BLEED = 0.5f;
+
+    private static final int MAX_LAYERS = 8;
+
+    private final RectF[] rects = new RectF[MAX_LAYERS];
+    private final float[] radii = new float[MAX_LAYERS];
+    private final float[] ringWidths = new float[MAX_LAYERS];
+    private final Path[] shapes = new Path[MAX_LAYERS];
+    private final Path[] insets = new Path[MAX_LAYERS];
+    private final Path[] appliedClips = new Path[MAX_LAYERS];
+    private int count;
+
+    private final RectF rectF = new RectF();
+    private final Paint fillPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint strokePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+
+    LayerCompositor() {
+        for (int i = 0; i < MAX_LAYERS; i++) {
+            rects[i] = new RectF();
+            shapes[i] = new Path();
+            insets[i] = new Path();
+        }
+        fillPaint.setStyle(Paint.Style.FILL);
+        strokePaint.setStyle(Paint.Style.STROKE);
+    }
+
+    static boolean isOpaque(int color) {
+        return Color.alpha(color) == 0xFF;
+    }
+
+    void begin() {
+        count = 0;
+    }
+
+    /**
+     * Adds a filled round rect beneath all layers added so far.
+     */
+    void addRoundRect(float left, float top, float right, float bottom, float radius) {
+        int i = nextLayer();
+        rects[i].set(left, top, right, bottom);
+        radii[i] = radius;
+        ringWidths[i] = 0;
+        shapes[i].reset();
+        shapes[i].setFillType(Path.FillType.WINDING);
+        addRoundRect(shapes[i], rects[i], radius, 0);
+        insets[i].reset();
+        insets[i].setFillType(Path.FillType.WINDING);
+        addRoundRect(insets[i], rects[i], radius, EDGE_BLEED);
+    }
+
+    void addOval(float left, float top, float right, float bottom) {
+        addRoundRect(left, top, right, bottom, Math.min(right - left, bottom - top) * 0.5f);
+    }
+
+    /**
+     * Adds the outline a round rect stroke of the given width would paint, centered on the rect.
+     */
+    void addRing(float left, float top, float right, float bottom, float width) {
+        int i = nextLayer();
+        float half = width * 0.5f;
+        float radius = (bottom - top) * 0.5f;
+        rects[i].set(left, top, right, bottom);
+        radii[i] = radius;
+        ringWidths[i] = width;
+        shapes[i].reset();
+        shapes[i].setFillType(Path.FillType.EVEN_ODD);
+        addRoundRect(shapes[i], rects[i], radius, -half);
+        addRoundRect(shapes[i], rects[i], radius, half);
+        insets[i].reset();
+        insets[i].setFillType(Path.FillType.EVEN_ODD);
+        addRoundRect(insets[i], rects[i], radius, EDGE_BLEED - half);
+        addRoundRect(insets[i], rects[i], radius, half + EDGE_BLEED);
+    }
+
+    /**
+     * Cuts every layer out of the ones above it with path ops. Too slow to run every frame,
+     * meant for shapes that do not move. The result is only right while all layers but the
+     * last are drawn opaque.
+     *
+     * @return the cut out layers, front to back.
+     */
+    Path[] cutLayers() {
+        Path occluded = new Path();
+        Path[] cut = new Path[count];
+        for (int i = 0; i < count; i++) {
+            cut[i] = new Path();
+            cut[i].op(shapes[i], occluded, Path.Op.DIFFERENCE);
+            occluded.op(insets[i], Path.Op.UNION);
+        }
+        return cut;
+    }
+
+    /**
+     * Draws one layer returned by {@link #cutLayers()}.
+     */
+    void drawCut(Canvas canvas, Path cutLayer, int color, OverdrawCounter counter) {
+        fillPaint.setColor(color);
+        canvas.drawPath(cutLayer, fillPaint);
+        if (counter != null) {
+            counter.add(cutLayer);
+        }
+    }
+
+    /**
+     * Draws one layer of the current frame with the opaque layers above it clipped out.
+     */
+    void drawClipped(Canvas canvas, int layer, int[] colors, OverdrawCounter counter) {
+        int saveCount = canvas.save();
+        int clipCount = 0;
+        for (int above = 0; above < layer; above++) {
+            if (!isOpaque(colors[above]) || !intersects(above, layer) || isCovered(above, layer, colors)) {
+                continue;
+            }
+            canvas.clipPath(insets[above], Region.Op.DIFFERENCE);
+            appliedClips[clipCount++] = insets[above];
+        }
+
+        float radius = radii[layer];
+        if (ringWidths[layer] > 0) {
+            strokePaint.setColor(colors[layer]);
+            strokePaint.setStrokeWidth(ringWidths[layer]);
+            canvas.drawRoundRect(rects[layer], radius, radius, strokePaint);
+        } else {
+            fillPaint.setColor(colors[layer]);
+            canvas.drawRoundRect(rects[layer], radius, radius, fillPaint);
+        }
+        canvas.restoreToCount(saveCount);
+
+        if (counter != null) {
+            counter.add(shapes[layer], appliedClips, clipCount);
+        }
+    }
+
+    /**
+     * @return whether a layer above is inside another opaque layer that is clipped out anyway.
+     */
+    private boolean isCovered(int above, int layer, int[] colors) {
+        for (int k = above + 1; k < layer; k++) {
+            if (ringWidths[k] == 0 && isOpaque(colors[k])
+                    && contains(rects[k], radii[k], rects[above], radii[above])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean intersects(int above, int layer) {
+        RectF rect = rects[above];
+        float half = ringWidths[above] * 0.5f;
+        rectF.set(rect.left - half, rect.top - half, rect.right + half, rect.bottom + half);
+        if (!RectF.intersects(rectF, rects[layer])) {
+            return false;
+        }
+        if (ringWidths[above] == 0 || ringWidths[layer] > 0) {
+            return true;
+        }
+        // a fill inside the hole of a ring does not touch it
+        rectF.set(rect.left + half, rect.top + half, rect.right - half, rect.bottom - half);
+        return !contains(rectF, radii[above] - half, rects[layer], radii[layer]);
+    }
+
+    private static boolean contains(RectF outer, float outerRadius, RectF inner, float innerRadius) {
+        if (!outer.contains(inner)) {
+            return false;
+        }
+        if (innerRadius >= outerRadius) {
+            return true;
+        }
+        // a horizontal pill holds any pill on the same axis whose bounds it holds
+        return isPill(outer, outerRadius) && isPill(inner, innerRadius)
+                && Math.abs(outer.centerY() - inner.centerY()) < 0.5f;
+    }
+
+    private static boolean isPill(RectF rect, float radius) {
+        return rect.width() >= rect.height() && Math.abs(radius - rect.height() * 0.5f) < 0.5f;
+    }
+
+    private int nextLayer() {
+        if (count == MAX_LAYERS) {
+            throw new IllegalStateException("Too many layers, max is " + MAX_LAYERS);
+        }
+        return count++;
+    }
+
+    private void addRoundRect(Path path, RectF rect, float radius, float inset) {
+        rectF.set(rect.left + inset, rect.top + inset, rect.right - inset, rect.bottom - inset);
+        float r = Math.max(radius - inset, 0);
+        path.addRoundRect(rectF, r, r, Path.Direction.CW);
+    }
+}
@@ -0,0 +1,100 @@
+package com.leroy.switchbutton.widget;
+
+import android.graphics.Path;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.graphics.Region;
+import android.graphics.RegionIterator;
+
+/**
+ * Debug counter of the pixels a frame writes. Every primitive drawn is rasterized
+ * into a {@link Region} (without anti-aliasing), so {@link #getPixelsDrawn()}
+ * divided by {@link #getPixelsCovered()} is the overdraw of the frame.
+ */
+class OverdrawCounter {
+    private final Region clip = new Region();
+    private final Region shape = new Region();
+    private final Region clipOut = new Region();
+    private final Region covered = new Region();
+    private final Rect rect = new Rect();
+    private final Path path = new Path();
+
+    private long pixelsDrawn;
+    private long lastPixelsDrawn;
+    private long lastPixelsCovered;
+
+    void begin(int width, int height) {
+        clip.set(0, 0, width, height);
+        covered.setEmpty();
+        pixelsDrawn = 0;
+    }
+
+    void end() {
+        lastPixelsDrawn = pixelsDrawn;
+        lastPixelsCovered = area(covered);
+    }
+
+    void add(Path p) {
+        add(p, null, 0);
+    }
+
+    /**
+     * Counts a shape drawn with the given paths clipped out of it.
+     */
+    void add(Path p, Path[] clipsOut, int clipCount) {
+        if (!shape.setPath(p, clip)) {
+            return;
+        }
+        for (int i = 0; i < clipCount; i++) {
+            if (clipOut.setPath(clipsOut[i], clip)) {
+                shape.op(clipOut, Region.Op.DIFFERENCE);
+            }
+        }
+        pixelsDrawn += area(shape);
+        covered.op(shape, Region.Op.UNION);
+    }
+
+    void addCircle(float cx, float cy, float radius) {
+        path.reset();
+        path.addCircle(cx, cy, radius, Path.Direction.CW);
+        add(path);
+    }
+
+    void addRing(float cx, float cy, float radius, float radiusIn) {
+        path.reset();
+        path.setFillType(Path.FillType.EVEN_ODD);
+        path.addCircle(cx, cy, radius, Path.Direction.CW);
+        path.addCircle(cx, cy, radiusIn, Path.Direction.CW);
+        add(path);
+        path.setFillType(Path.FillType.WINDING);
+    }
+
+    void addRect(RectF r) {
+        path.reset();
+        path.addRect(r, Path.Direction.CW);
+        add(path);
+    }
+
+    void addRoundRect(RectF r, float radius) {
+        path.reset();
+        path.addRoundRect(r, radius, radius, Path.Direction.CW);
+        add(path);
+    }
+
+    long getPixelsDrawn() {
+        return lastPixelsDrawn;
+    }
+
+    long getPixelsCovered() {
+        return lastPixelsCovered;
+    }
+
+    private long area(Region region) {
+        long area = 0;
+        RegionIterator iterator = new RegionIterator(region);
+        while (iterator.next(rect)) {
+            area += (long) rect.width() * rect.height();
+        }
+        return area;
+    }
+}
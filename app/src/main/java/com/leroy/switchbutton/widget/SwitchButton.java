@@ -2,17 +2,11 @@ package com.leroy.switchbutton.widget;
 
 import android.animation.Animator;
 import android.animation.AnimatorListenerAdapter;
-import android.animation.ArgbEvaluator;
 import android.animation.ValueAnimator;
 import android.annotation.TargetApi;
 import android.content.Context;
 import android.content.res.TypedArray;
-import android.graphics.Bitmap;
 import android.graphics.Canvas;
-import android.graphics.Paint;
-import android.graphics.Rect;
-import android.graphics.RectF;
-import android.graphics.drawable.BitmapDrawable;
 import android.os.Build;
 import android.support.annotation.ColorInt;
 import android.util.AttributeSet;
@@ -22,30 +16,34 @@ import android.view.animation.AccelerateDecelerateInterpolator;
 import android.widget.Checkable;
 
 import com.leroy.switchbutton.R;
+import com.leroy.switchbutton.widget.SwitchRenderer.State;
 
 /**
  * DayOrNight SwitchButton
  * Created by leroy on 2016/9/6.
  */
 public class SwitchButton extends View implements Checkable{
-    private static final int ANIMATION_DURATION = 300;
+    static final int ANIMATION_DURATION = 300;
 
-    private static final int DEFAULT_WIDTH = 120;      //width of SwitchButton
-    private static final int DEFAULT_HEIGHT = DEFAULT_WIDTH / 2;
-    private static final int DEFAULT_SPOT_PADDING = 6;
-    private static final int DEFAULT_BORDER_WIDTH = 4;
+    static final int DEFAULT_WIDTH = 120;      //width of SwitchButton
+    static final int DEFAULT_HEIGHT = DEFAULT_WIDTH / 2;
+    static final int DEFAULT_SPOT_PADDING = 6;
 
-    private static final int DEFAULT_SWITCH_ON_COLOR = 0xFF9EE3FB;
-    private static final int DEFAULT_SWITCH_ON_COLOR_OUT = 0xFF86C3D7;
-    private static final int DEFAULT_SWITCH_OFF_COLOR = 0xFF3C4145;
-    private static final int DEFAULT_SWITCH_OFF_COLOR_OUT = 0xFF1C1C1C;
-    private static final int DEFAULT_SPOT_ON_COLOR = 0xFFE1C348;
-    private static final int DEFAULT_SPOT_ON_COLOR_IN = 0xFFFFDF6D;
-    private static final int DEFAULT_SPOT_OFF_COLOR = 0xFFE3E7C7;
-    private static final int DEFAULT_SPOT_OFF_COLOR_IN = 0xFFFFFFFF;
+    static final int DEFAULT_SWITCH_ON_COLOR = 0xFF9EE3FB;
+    static final int DEFAULT_SWITCH_ON_COLOR_OUT = 0xFF86C3D7;
+    static final int DEFAULT_SWITCH_OFF_COLOR = 0xFF3C4145;
+    static final int DEFAULT_SWITCH_OFF_COLOR_OUT = 0xFF1C1C1C;
+    static final int DEFAULT_SPOT_ON_COLOR = 0xFFE1C348;
+    static final int DEFAULT_SPOT_ON_COLOR_IN = 0xFFFFDF6D;
+    static final int DEFAULT_SPOT_OFF_COLOR = 0xFFE3E7C7;
+    static final int DEFAULT_SPOT_OFF_COLOR_IN = 0xFFFFFFFF;
 
-    private static final int SWITCH_OFF_POS = 0;
-    private static final int SWITCH_ON_POS = 1;
+    private static final int RENDERER_DAY_NIGHT = 0;
+    private static final int RENDERER_FLAT = 1;
+
+    // renderers keep no state between draws, so every switch shares one of each
+    private static DayNightRenderer sharedDayNightRenderer;
+    private static FlatRenderer sharedFlatRenderer;
 
     private int switchOnColor;
     private int switchOffColor;
@@ -66,12 +64,13 @@ public class SwitchButton extends View implements Checkable{
 
     private ValueAnimator valueAnimator;
 
-    private enum State {
-        SWITCH_ANIMATION_OFF, SWITCH_ANIMATION_ON, SWITCH_ON, SWITCH_OFF
-    }
-
     private State state;
 
+    private SwitchRenderer renderer;
+    private final SwitchRenderContext renderContext = new SwitchRenderContext();
+
+    private OverdrawCounter overdrawCounter;
+
     public SwitchButton(Context context) {
         super(context);
         switchOnColor = DEFAULT_SWITCH_ON_COLOR;
@@ -85,6 +84,7 @@ public class SwitchButton extends View implements Checkable{
         switchOffStrokeColor = switchOffColor;
         duration = ANIMATION_DURATION;
         state = mChecked ? State.SWITCH_ON : State.SWITCH_OFF;
+        renderer = getSharedDayNightRenderer();
 
         setClickable(true);
     }
@@ -103,9 +103,11 @@ public class SwitchButton extends View implements Checkable{
         switchOffStrokeColor = a.getColor(R.styleable.Switch_switchOffStrokeColor, switchOffColor);
         duration = a.getInteger(R.styleable.Switch_duration, ANIMATION_DURATION);
         mChecked = a.getBoolean(R.styleable.Switch_checked, false);
+        int rendererType = a.getInt(R.styleable.Switch_renderer, RENDERER_DAY_NIGHT);
         a.recycle();
 
         state = mChecked ? State.SWITCH_ON : State.SWITCH_OFF;
+        renderer = rendererType == RENDERER_FLAT ? getSharedFlatRenderer() : getSharedDayNightRenderer();
         setClickable(true);
     }
 
@@ -149,333 +151,18 @@ public class SwitchButton extends View implements Checkable{
         int dy = pt + (hp - sh) / 2;
         canvas.translate(dx, dy);
 
-        switch (state) {
-            case SWITCH_ON:
-                drawSwitchOn(canvas);
-                break;
-            case SWITCH_OFF:
-                drawSwitchOff(canvas);
-                break;
-            case SWITCH_ANIMATION_ON:
-                drawSwitchOnAnim(canvas);
-                break;
-            case SWITCH_ANIMATION_OFF:
-                drawSwitchOffAnim(canvas);
-                break;
-        }
-    }
-
-    private void drawSwitchOn(Canvas canvas) {
-        float[] rectAttrs = compRoundRectAttr(SWITCH_OFF_POS);
-        drawRoundRect(canvas, switchOnColor, rectAttrs);
-
-        float[] ovalAttrs = compOvalAttr(SWITCH_ON_POS);
-        drawOval(canvas, spotOnColor, ovalAttrs);
-        drawOvalIn(canvas, spotOnColorIn, ovalAttrs);
-        drawCloud(canvas, 1);
-
-        drawRoundRectStroke(canvas, DEFAULT_SWITCH_ON_COLOR_OUT);
-    }
-
-    private void drawSwitchOff(Canvas canvas) {
-        float[] rectAttrs = compRoundRectAttr(SWITCH_OFF_POS);
-        drawRoundRect(canvas, switchOffColor, rectAttrs);
-
-        float[] ovalAttrs = compOvalAttr(SWITCH_OFF_POS);
-        drawOval(canvas, spotOffColor,  ovalAttrs);
-        drawOvalIn(canvas, spotOffColorIn, ovalAttrs);
-        drawCircleDot(canvas, spotOffColor, spotOffColorIn, 1, ovalAttrs);
-        drawCircleDot2(canvas, spotOffColor, spotOffColorIn, 1, ovalAttrs);
-        drawCircleDot3(canvas, spotOffColor, spotOffColorIn, 1, ovalAttrs);
-        drawStar(canvas, DEFAULT_SPOT_OFF_COLOR_IN, 1);
+        renderContext.setGeometry(getResources(), sw, sh, spotPadding);
+        renderContext.setColors(switchOnColor, switchOffColor, spotOnColor, spotOnColorIn,
+                spotOffColor, spotOffColorIn, switchOnStrokeColor, switchOffStrokeColor);
+        renderContext.setOverdrawCounter(overdrawCounter);
 
-        drawRoundRectStroke(canvas, DEFAULT_SWITCH_OFF_COLOR_OUT);
-    }
-
-    private void drawSwitchOnAnim(Canvas canvas) {
-        float[] rectAttrs = compRoundRectAttr(SWITCH_OFF_POS);
-        drawRoundRect(canvas, switchOnColor, rectAttrs);
-
-//        rectAttrs = compRoundRectAttr(currentPos);    fix drawRoundRect issue  by lgyjg
-//        drawRoundRect(canvas, switchOffColor, rectAttrs);
-
-        float[] ovalShadeOnAttrs = compRoundRectShadeOnAttr(currentPos * 3/2);
-        float[] ovalAttrs = compOvalAttr(currentPos* 3/2);
-        int color = compColor(currentPos, DEFAULT_SPOT_OFF_COLOR, DEFAULT_SPOT_ON_COLOR);
-        int colorIn = compColor(currentPos, DEFAULT_SPOT_OFF_COLOR_IN, DEFAULT_SPOT_ON_COLOR_IN);
-        drawRoundRect(canvas, color, ovalShadeOnAttrs);
-        drawOval(canvas, color, ovalAttrs);
-        drawOvalIn(canvas, colorIn, ovalAttrs);
-        if(currentPos > 0.6) {
-            drawCloud(canvas, currentPos);
-        }
-
-        int strokeColor = compColor(currentPos, DEFAULT_SWITCH_OFF_COLOR_OUT, DEFAULT_SWITCH_ON_COLOR_OUT);
-        drawRoundRectStroke(canvas, strokeColor);
-    }
-
-    private void drawSwitchOffAnim(Canvas canvas) {
-        float[] rectAttrs = compRoundRectAttr(SWITCH_OFF_POS);
-        if (currentPos != 1) {
-            drawRoundRect(canvas, switchOffColor, rectAttrs);
-        }
-
-//        rectAttrs = compRoundRectAttr(1 - currentPos);
-        drawRoundRect(canvas, switchOffColor, rectAttrs);
-
-        float[] ovalAttrs;
-        if(currentPos > 2.0/3){
-            ovalAttrs = compOvalAttr(0);
-        }else{
-            ovalAttrs = compOvalAttr(1 - currentPos * 3/2);
-        }
-        float[] ovalShadeOffAttrs = compRoundRectShadeOffAttr(1 - currentPos * 3/2);
-        int color = compColor(currentPos, DEFAULT_SPOT_ON_COLOR, DEFAULT_SPOT_OFF_COLOR);
-        int colorIn = compColor(currentPos, DEFAULT_SPOT_ON_COLOR_IN, DEFAULT_SPOT_OFF_COLOR_IN);
-        drawRoundRect(canvas, color, ovalShadeOffAttrs);
-        drawOval(canvas, color, ovalAttrs);
-        drawOvalIn(canvas, colorIn, ovalAttrs);
-        if(currentPos > 2.0/3){
-            drawCircleDot(canvas, DEFAULT_SPOT_OFF_COLOR, DEFAULT_SPOT_OFF_COLOR_IN, 1, ovalAttrs);
-            drawCircleDot2(canvas, DEFAULT_SPOT_OFF_COLOR, DEFAULT_SPOT_OFF_COLOR_IN, 1, ovalAttrs);
-            drawCircleDot3(canvas, DEFAULT_SPOT_OFF_COLOR, DEFAULT_SPOT_OFF_COLOR_IN, 1, ovalAttrs);
-        }else{
-            drawCircleDot(canvas, DEFAULT_SPOT_OFF_COLOR, DEFAULT_SPOT_OFF_COLOR_IN, currentPos * 3/2, ovalAttrs);
-            drawCircleDot2(canvas, DEFAULT_SPOT_OFF_COLOR, DEFAULT_SPOT_OFF_COLOR_IN, currentPos * 3/2, ovalAttrs);
-            drawCircleDot3(canvas, DEFAULT_SPOT_OFF_COLOR, DEFAULT_SPOT_OFF_COLOR_IN, currentPos * 3/2, ovalAttrs);
+        if (overdrawCounter != null) {
+            overdrawCounter.begin(sw, sh);
         }
-        if(currentPos > 0.6) {
-            drawStar(canvas, DEFAULT_SPOT_OFF_COLOR_IN, currentPos);
+        renderer.draw(canvas, renderContext, state, currentPos);
+        if (overdrawCounter != null) {
+            overdrawCounter.end();
         }
-
-        int strokeColor = compColor(currentPos, DEFAULT_SWITCH_ON_COLOR_OUT, DEFAULT_SWITCH_OFF_COLOR_OUT);
-        drawRoundRectStroke(canvas, strokeColor);
-    }
-
-    private void drawRoundRect(Canvas canvas, int color, float[] attrs) {
-        Paint paint = new Paint(Paint.ANTI_ALIAS_FLAG);
-        paint.setStyle(Paint.Style.FILL);
-        paint.setStrokeCap(Paint.Cap.ROUND);
-        RectF rectF = new RectF();
-        paint.setColor(color);
-        rectF.set(attrs[0], attrs[1], attrs[2], attrs[3]);
-        canvas.drawRoundRect(rectF, attrs[4], attrs[4], paint);
-    }
-
-    private void drawRoundRectStroke(Canvas canvas, int color) {
-        int sw = dp2px(DEFAULT_WIDTH);
-        int sh = dp2px(DEFAULT_HEIGHT);
-
-        float left = dp2pxFloat((float) 2.4);
-        float right = sw - left;
-        float top = dp2pxFloat((float) 2.4);
-        float bottom = sh - top;
-        float radius = (bottom - top) * 0.5f;
-
-        Paint paint = new Paint(Paint.ANTI_ALIAS_FLAG);
-        paint.setStyle(Paint.Style.STROKE);
-        paint.setColor(color);
-        paint.setStrokeWidth(dp2pxFloat((float) 3.6));
-        RectF rectF = new RectF();
-        rectF.set(left, top, right, bottom);
-        canvas.drawRoundRect(rectF, radius, radius, paint);
-    }
-
-    private void drawOvalIn(Canvas canvas, int color, float[] attrs) {
-        Paint paint = new Paint(Paint.ANTI_ALIAS_FLAG);
-        paint.setStyle(Paint.Style.FILL);
-        paint.setColor(color);
-        int borderWidth = dp2px(DEFAULT_BORDER_WIDTH);
-        RectF rectFIn = new RectF(attrs[0] + borderWidth, attrs[1] + borderWidth, attrs[2] - borderWidth, attrs[3] - borderWidth);
-        canvas.drawOval(rectFIn, paint);
-    }
-
-    private void drawOval(Canvas canvas, int color, float[] attrs) {
-        Paint paint = new Paint(Paint.ANTI_ALIAS_FLAG);
-        paint.setStyle(Paint.Style.FILL);
-        paint.setColor(color);
-        RectF rectF = new RectF(attrs[0], attrs[1], attrs[2], attrs[3]);
-        canvas.drawOval(rectF, paint);
-    }
-
-    private void drawCircleDot(Canvas canvas, int color,int colorIn, float pos, float[] attrs) {
-        Paint paint = new Paint(Paint.ANTI_ALIAS_FLAG);
-        paint.setStyle(Paint.Style.FILL);
-        float rad = attrs[2] - dp2px(9) - (attrs[0] + attrs[2])/2;
-        float x = attrs[2] - dp2px(9) - rad + (float)(rad * Math.cos(pos * Math.PI/3));
-        float y = (attrs[1] + attrs[3])/2 - (float)(rad * Math.sin(pos * Math.PI/3));
-        paint.setColor(color);
-        RectF rectF = new RectF(x - dp2px(7), y - dp2px(7), x + dp2px(7), y + dp2px(7));
-        canvas.drawOval(rectF, paint);
-        paint.setColor(colorIn);
-        RectF rectFIn = new RectF(x - dp2px(3), y - dp2px(3), x + dp2px(3), y + dp2px(3));
-        canvas.drawOval(rectFIn, paint);
-    }
-
-    private void drawCircleDot2(Canvas canvas, int color,int colorIn, float pos, float[] attrs) {
-        Paint paint = new Paint(Paint.ANTI_ALIAS_FLAG);
-        paint.setStyle(Paint.Style.FILL);
-        float rad = attrs[2] - dp2px(7) - (attrs[0] + attrs[2])/2;
-        float x = attrs[2] - dp2px(7) - rad + (float)(rad * Math.cos(Math.PI * 5 /12 + pos * Math.PI* 5 /12));
-        float y = (attrs[1] + attrs[3])/2 - (float)(rad * Math.sin(Math.PI * 5 /12 + pos * Math.PI* 5 /12));
-        paint.setColor(color);
-        RectF rectF = new RectF(x - dp2px(5), y - dp2px(5), x + dp2px(5), y + dp2px(5));
-        canvas.drawOval(rectF, paint);
-        paint.setColor(colorIn);
-        RectF rectFIn = new RectF(x - dp2px(1), y - dp2px(1), x + dp2px(1), y + dp2px(1));
-        canvas.drawOval(rectFIn, paint);
-    }
-
-    private void drawCircleDot3(Canvas canvas, int color,int colorIn, float pos, float[] attrs) {
-        Paint paint = new Paint(Paint.ANTI_ALIAS_FLAG);
-        paint.setStyle(Paint.Style.FILL);
-        float rad = attrs[2] - dp2px(9) - (attrs[0] + attrs[2])/2;
-        float x = attrs[2] - dp2px(9) - rad + (float)(rad * Math.cos(Math.PI * 16 /12 + pos * Math.PI* 5 /12));
-        float y = (attrs[1] + attrs[3])/2 - (float)(rad * Math.sin(Math.PI * 16 /12 + pos * Math.PI* 5 /12));
-        paint.setColor(color);
-        RectF rectF = new RectF(x - dp2px(5), y - dp2px(5), x + dp2px(5), y + dp2px(5));
-        canvas.drawOval(rectF, paint);
-        paint.setColor(colorIn);
-        RectF rectFIn = new RectF(x - dp2px(1), y - dp2px(1), x + dp2px(1), y + dp2px(1));
-        canvas.drawOval(rectFIn, paint);
-    }
-
-    private void drawCloud(Canvas canvas, float pos) {
-        int sw = dp2px(DEFAULT_WIDTH);
-        int sh = dp2px(DEFAULT_HEIGHT);
-
-        Paint paint = new Paint(Paint.ANTI_ALIAS_FLAG);
-        paint.setDither(true);
-        paint.setFilterBitmap(true);
-        Bitmap cloudBitmap = ((BitmapDrawable) getResources().getDrawable(R.drawable.cloud)).getBitmap();
-        int cloudWidth = cloudBitmap.getWidth();
-        int cloudHeight = cloudBitmap.getHeight();
-        Rect mSrcRect = new Rect(0, 0, cloudWidth, cloudHeight);
-        RectF mDestRect;
-        if(pos <= 0.9){
-            float t = pos*10 - 6;
-            mDestRect = new RectF(sw/2 - dp2px(18) - dp2px(t), sh/2 - dp2px(4) - dp2px(t), sw/2 + dp2px(18) + dp2px(t), sh/2 + dp2px(20) + dp2px(t));
-        }else{
-            float t = 2*(pos*10 - 9);
-            mDestRect = new RectF(sw/2 - dp2px(22) + dp2px(t), sh/2 - dp2px(8) + dp2px(t), sw/2 + dp2px(22) - dp2px(t), sh/2 + dp2px(24) - dp2px(t));
-        }
-        canvas.drawBitmap(cloudBitmap, mSrcRect, mDestRect, paint);
-    }
-
-    private void drawStar(Canvas canvas, int color, float pos) {
-        int sw = dp2px(DEFAULT_WIDTH);
-        int sh = dp2px(DEFAULT_HEIGHT);
-
-        float stars[][] = new float[7][2];
-        stars[0][0] = (float) (sw/2.0);
-        stars[0][1] = (float) (sh/5.0);
-
-        stars[1][0] = (float) (sw * 3/4.0);
-        stars[1][1] = (float) (sh/5.0);
-
-        stars[2][0] = (float) (sw * 5/8.0);
-        stars[2][1] = (float) (sh * 2/5.0);
-
-        stars[3][0] = (float) (sw * 27/40.0);
-        stars[3][1] = (float) (sh * 3/5.0);
-
-        stars[4][0] = (float) (sw * 5/6.0);
-        stars[4][1] = (float) (sh * 9/20.0);
-
-        stars[5][0] = (float) (sw * 4/5.0);
-        stars[5][1] = (float) (sh * 7/10.0);
-
-        stars[6][0] = (float) (sw * 11/20.0);
-        stars[6][1] = (float) (sh * 3/4.0);
-        Paint paint = new Paint(Paint.ANTI_ALIAS_FLAG);
-        paint.setStyle(Paint.Style.FILL);
-        paint.setColor(color);
-
-        float t = 10 * pos - 6;
-        if(pos > 0.8){
-            t = 10 - 10 * pos;
-        }
-        canvas.drawCircle(stars[0][0], stars[0][1], 6 + 2*t, paint);
-        canvas.drawCircle(stars[1][0], stars[1][1], 5 + 2*t, paint);
-        canvas.drawCircle(stars[2][0], stars[2][1], 5 + 2*t, paint);
-        canvas.drawCircle(stars[3][0], stars[3][1], 4 + 2*t, paint);
-        canvas.drawCircle(stars[4][0], stars[4][1], 8 - 2*t, paint);
-        canvas.drawCircle(stars[5][0], stars[5][1], 7 - 2*t, paint);
-        canvas.drawCircle(stars[6][0], stars[6][1], 7 - 2*t, paint);
-    }
-
-    private float[] compRoundRectAttr(float pos) {
-        int sw = dp2px(DEFAULT_WIDTH);
-        int sh = dp2px(DEFAULT_HEIGHT);
-
-        float left = sw * pos;
-        float right = sw - left;
-        float top = sh * pos;
-        float bottom = sh - top;
-        float radius = (bottom - top) * 0.5f;
-
-        return new float[]{left, top, right, bottom, radius};
-    }
-
-    private float[] compRoundRectShadeOnAttr(float pos) {
-        int sw = dp2px(DEFAULT_WIDTH);
-        int sh = dp2px(DEFAULT_HEIGHT);
-        int oh = sh - 2 * spotPadding;
-        float left, right, top, bottom;
-        if(pos < 0.35){
-            left = 0;
-            right = spotPadding + (sw - sh) * pos + oh;
-            top = spotPadding;
-            bottom = oh + top;
-        }else{
-            left = spotPadding + (sw - sh) * pos *2/3;
-            right = spotPadding + (sw - sh) * pos *2/3+ oh;
-            top = spotPadding;
-            bottom = oh + top;
-        }
-        float radius = (bottom - top) * 0.5f;
-        return new float[]{left, top, right, bottom, radius};
-    }
-
-    private float[] compRoundRectShadeOffAttr(float pos) {
-        int sw = dp2px(DEFAULT_WIDTH);
-        int sh = dp2px(DEFAULT_HEIGHT);
-        int oh = sh - 2 * spotPadding;
-        float left, right, top, bottom;
-
-        if(pos > 0.65){
-            left = spotPadding + (sw - sh) * pos;
-            right = sw - spotPadding;
-            top = spotPadding;
-            bottom = oh + top;
-        }else{
-            left = spotPadding + (sw - sh) * (2*pos + 1)/3;
-            right = spotPadding + (sw - sh) * (2*pos + 1)/3 + oh;
-            top = spotPadding;
-            bottom = oh + top;
-        }
-        float radius = (bottom - top) * 0.5f;
-        return new float[]{left, top, right, bottom, radius};
-    }
-
-    private float[] compOvalAttr(float pos) {
-        if(pos > 1){
-            pos = 1;
-        }
-        int sw = dp2px(DEFAULT_WIDTH);
-        int sh = dp2px(DEFAULT_HEIGHT);
-        int oh = sh - 2 * spotPadding;
-
-        float left = spotPadding + (sw - sh) * pos;
-        float right = left + oh;
-        float top = spotPadding;
-        float bottom = oh + top;
-
-        return new float[]{left, top, right, bottom};
-    }
-
-    private int compColor(float fraction, int startColor, int endColor) {
-        return (Integer) new ArgbEvaluator().evaluate(fraction, startColor, endColor);
     }
 
     @Override
@@ -534,6 +221,7 @@ public class SwitchButton extends View implements Checkable{
             } else {
                 // Immediately move the thumb to the new position.
                 cancelPositionAnimator();
+                state = mChecked ? State.SWITCH_ON : State.SWITCH_OFF;
                 currentPos = 0;
             }
         }
@@ -568,6 +256,8 @@ public class SwitchButton extends View implements Checkable{
             public void onAnimationEnd(Animator animation) {
                 super.onAnimationEnd(animation);
                 isMoving = false;
+                state = mChecked ? State.SWITCH_ON : State.SWITCH_OFF;
+                invalidate();
             }
         });
 
@@ -658,6 +348,62 @@ public class SwitchButton extends View implements Checkable{
         invalidate();
     }
 
+    static DayNightRenderer getSharedDayNightRenderer() {
+        if (sharedDayNightRenderer == null) {
+            sharedDayNightRenderer = new DayNightRenderer();
+        }
+        return sharedDayNightRenderer;
+    }
+
+    static FlatRenderer getSharedFlatRenderer() {
+        if (sharedFlatRenderer == null) {
+            sharedFlatRenderer = new FlatRenderer();
+        }
+        return sharedFlatRenderer;
+    }
+
+    public SwitchRenderer getRenderer() {
+        return renderer;
+    }
+
+    /**
+     * Sets the renderer drawing the switch, by default a {@link DayNightRenderer} shared by all switches.
+     */
+    public void setRenderer(SwitchRenderer renderer) {
+        if (renderer == null) {
+            throw new IllegalArgumentException("renderer must not be null");
+        }
+        this.renderer = renderer;
+        invalidate();
+    }
+
+    /**
+     * Enables counting of the pixels written by each frame, see {@link #getFramePixelsDrawn()}.
+     * Only meant for debugging and tests, it slows drawing down.
+     */
+    public void setOverdrawDebugEnabled(boolean enabled) {
+        overdrawCounter = enabled ? new OverdrawCounter() : null;
+        invalidate();
+    }
+
+    public boolean isOverdrawDebugEnabled() {
+        return overdrawCounter != null;
+    }
+
+    /**
+     * @return pixel writes of the last frame, counting a pixel again every time it is painted over.
+     */
+    public long getFramePixelsDrawn() {
+        return overdrawCounter != null ? overdrawCounter.getPixelsDrawn() : 0;
+    }
+
+    /**
+     * @return distinct pixels painted by the last frame.
+     */
+    public long getFramePixelsCovered() {
+        return overdrawCounter != null ? overdrawCounter.getPixelsCovered() : 0;
+    }
+
     public OnCheckedChangeListener getOnCheckedChangeListener() {
         return onCheckedChangeListener;
     }
@@ -0,0 +1,753 @@
+package com.leroy.switchbutton.widget;
+
+import android.content.Context;
+import android.content.res.TypedArray;
+import android.graphics.Canvas;
+import android.graphics.Rect;
+import android.os.Bundle;
+import android.support.v4.view.ViewCompat;
+import android.support.v4.view.accessibility.AccessibilityNodeInfoCompat;
+import android.support.v4.widget.ExploreByTouchHelper;
+import android.util.AttributeSet;
+import android.view.Choreographer;
+import android.view.MotionEvent;
+import android.view.SoundEffectConstants;
+import android.view.VelocityTracker;
+import android.view.View;
+import android.view.ViewConfiguration;
+import android.view.ViewParent;
+import android.view.accessibility.AccessibilityEvent;
+import android.view.animation.AccelerateDecelerateInterpolator;
+import android.view.animation.Interpolator;
+import android.widget.OverScroller;
+import android.widget.Switch;
+
+import com.leroy.switchbutton.R;
+import com.leroy.switchbutton.widget.SwitchRenderer.State;
+
+import java.util.List;
+
+/**
+ * A scrolling grid of day/night switches drawn by a single View.
+ * Only the visible cells are drawn and animated, the checked states are kept in a bit set,
+ * so thousands of cells cost about as much as the ones on screen.
+ * Each cell is exposed to accessibility services as a virtual checkable switch.
+ */
+public class SwitchGrid extends View {
+    private static final int DEFAULT_COLUMN_COUNT = 4;
+    private static final int DEFAULT_CELL_WIDTH = 60;
+    private static final int DEFAULT_CELL_SPACING = 8;
+    private static final int INITIAL_ANIMATION_CAPACITY = 16;
+
+    private int cellCount;
+    private int columnCount;
+    private int cellWidth;
+    private int cellHeight;
+    private int cellSpacing;
+    private int duration;
+
+    // one bit per cell
+    private long[] checkedBits = new long[0];
+
+    // running animations, only for cells that were visible when they started
+    private int[] animCells = new int[INITIAL_ANIMATION_CAPACITY];
+    private long[] animStartTimes = new long[INITIAL_ANIMATION_CAPACITY];
+    // fraction of the duration elapsed, not interpolated
+    private float[] animFractions = new float[INITIAL_ANIMATION_CAPACITY];
+    private int animCount;
+    private boolean frameScheduled;
+
+    private final Interpolator interpolator = new AccelerateDecelerateInterpolator();
+
+    private SwitchRenderer renderer = SwitchButton.getSharedDayNightRenderer();
+    private final SwitchRenderContext renderContext = new SwitchRenderContext();
+    private int drawnCellCount;
+
+    private OverScroller scroller;
+    private VelocityTracker velocityTracker;
+    private int touchSlop;
+    private int minFlingVelocity;
+    private int maxFlingVelocity;
+    private float downX;
+    private float downY;
+    private float lastY;
+    private boolean isDragging;
+
+    private OnCellCheckedChangeListener onCellCheckedChangeListener;
+    private CellDescriptionProvider cellDescriptionProvider;
+
+    private CellAccessibilityHelper accessibilityHelper;
+    private final Rect cellBounds = new Rect();
+
+    private final Choreographer.FrameCallback frameCallback = new Choreographer.FrameCallback() {
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            frameScheduled = false;
+            stepAnimations(frameTimeNanos / 1000000);
+            invalidate();
+            if (animCount > 0) {
+                scheduleFrame();
+            }
+        }
+    };
+
+    public SwitchGrid(Context context) {
+        super(context);
+        columnCount = DEFAULT_COLUMN_COUNT;
+        cellWidth = dp2px(DEFAULT_CELL_WIDTH);
+        cellSpacing = dp2px(DEFAULT_CELL_SPACING);
+        duration = SwitchButton.ANIMATION_DURATION;
+        init(context);
+    }
+
+    public SwitchGrid(Context context, AttributeSet attrs) {
+        super(context, attrs);
+        TypedArray a = context.obtainStyledAttributes(attrs, R.styleable.SwitchGrid);
+        int count = a.getInteger(R.styleable.SwitchGrid_cellCount, 0);
+        columnCount = Math.max(1, a.getInteger(R.styleable.SwitchGrid_cellColumnCount, DEFAULT_COLUMN_COUNT));
+        cellWidth = checkCellWidth(a.getDimensionPixelSize(R.styleable.SwitchGrid_cellWidth, dp2px(DEFAULT_CELL_WIDTH)));
+        cellSpacing = checkCellSpacing(a.getDimensionPixelSize(R.styleable.SwitchGrid_cellSpacing, dp2px(DEFAULT_CELL_SPACING)));
+        duration = a.getInteger(R.styleable.SwitchGrid_duration, SwitchButton.ANIMATION_DURATION);
+        a.recycle();
+
+        init(context);
+        setCellCount(count);
+    }
+
+    private void init(Context context) {
+        cellHeight = cellWidth / 2;
+        scroller = new OverScroller(context);
+        ViewConfiguration configuration = ViewConfiguration.get(context);
+        touchSlop = configuration.getScaledTouchSlop();
+        minFlingVelocity = configuration.getScaledMinimumFlingVelocity();
+        maxFlingVelocity = configuration.getScaledMaximumFlingVelocity();
+        setClickable(true);
+
+        accessibilityHelper = new CellAccessibilityHelper();
+        ViewCompat.setAccessibilityDelegate(this, accessibilityHelper);
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        int width = columnCount * cellWidth + (columnCount - 1) * cellSpacing + getPaddingLeft() + getPaddingRight();
+        setMeasuredDimension(resolveSize(width, widthMeasureSpec), resolveSize(getContentHeight(), heightMeasureSpec));
+    }
+
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+        scrollTo(0, getScrollY());
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        if (frameScheduled) {
+            Choreographer.getInstance().removeFrameCallback(frameCallback);
+            frameScheduled = false;
+        }
+        animCount = 0;
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        super.onDraw(canvas);
+        int sw = dp2px(SwitchButton.DEFAULT_WIDTH);
+        int sh = dp2px(SwitchButton.DEFAULT_HEIGHT);
+        float scale = (float) cellWidth / sw;
+
+        renderContext.setGeometry(getResources(), sw, sh, dp2px(SwitchButton.DEFAULT_SPOT_PADDING));
+        renderContext.setColors(SwitchButton.DEFAULT_SWITCH_ON_COLOR, SwitchButton.DEFAULT_SWITCH_OFF_COLOR,
+                SwitchButton.DEFAULT_SPOT_ON_COLOR, SwitchButton.DEFAULT_SPOT_ON_COLOR_IN,
+                SwitchButton.DEFAULT_SPOT_OFF_COLOR, SwitchButton.DEFAULT_SPOT_OFF_COLOR_IN,
+                SwitchButton.DEFAULT_SWITCH_ON_COLOR, SwitchButton.DEFAULT_SWITCH_OFF_COLOR);
+
+        int firstRow = getFirstVisibleRow();
+        int lastRow = getLastVisibleRow();
+        int lastColumn = getLastVisibleColumn();
+        int rowHeight = cellHeight + cellSpacing;
+        int columnWidth = cellWidth + cellSpacing;
+        drawnCellCount = 0;
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = 0; column <= lastColumn; column++) {
+                int index = row * columnCount + column;
+                if (index >= cellCount) {
+                    break;
+                }
+                int saveCount = canvas.save();
+                canvas.translate(getPaddingLeft() + column * columnWidth, getPaddingTop() + row * rowHeight);
+                canvas.scale(scale, scale);
+                drawCell(canvas, index);
+                canvas.restoreToCount(saveCount);
+                drawnCellCount++;
+            }
+        }
+    }
+
+    private void drawCell(Canvas canvas, int index) {
+        boolean checked = isChecked(index);
+        int anim = findAnimation(index);
+        if (anim < 0) {
+            renderer.draw(canvas, renderContext, checked ? State.SWITCH_ON : State.SWITCH_OFF, 0);
+        } else {
+            State state = checked ? State.SWITCH_ANIMATION_ON : State.SWITCH_ANIMATION_OFF;
+            renderer.draw(canvas, renderContext, state, interpolator.getInterpolation(animFractions[anim]));
+        }
+    }
+
+    @Override
+    public boolean onTouchEvent(MotionEvent event) {
+        if (!isEnabled()) {
+            // a disabled clickable view still consumes touches, it just does not respond to them
+            recycleVelocityTracker();
+            return isClickable();
+        }
+        if (velocityTracker == null) {
+            velocityTracker = VelocityTracker.obtain();
+        }
+        velocityTracker.addMovement(event);
+
+        switch (event.getActionMasked()) {
+            case MotionEvent.ACTION_DOWN:
+                // a touch stopping a fling must not toggle the cell under it
+                isDragging = !scroller.isFinished();
+                scroller.abortAnimation();
+                downX = event.getX();
+                downY = event.getY();
+                lastY = downY;
+                break;
+            case MotionEvent.ACTION_MOVE:
+                float y = event.getY();
+                if (!isDragging && Math.hypot(event.getX() - downX, y - downY) > touchSlop) {
+                    isDragging = true;
+                    ViewParent parent = getParent();
+                    if (parent != null) {
+                        parent.requestDisallowInterceptTouchEvent(true);
+                    }
+                    // leave the slop out so the content does not jump when the drag starts
+                    lastY = y > downY ? Math.min(downY + touchSlop, y) : Math.max(downY - touchSlop, y);
+                }
+                if (isDragging) {
+                    int deltaY = (int) (lastY - y);
+                    if (deltaY != 0) {
+                        scrollTo(0, getScrollY() + deltaY);
+                        // keep the fraction left over, so slow drags still add up to a scroll
+                        lastY -= deltaY;
+                    }
+                }
+                break;
+            case MotionEvent.ACTION_UP:
+                if (isDragging) {
+                    velocityTracker.computeCurrentVelocity(1000, maxFlingVelocity);
+                    int velocity = (int) velocityTracker.getYVelocity();
+                    if (Math.abs(velocity) > minFlingVelocity) {
+                        scroller.fling(0, getScrollY(), 0, -velocity, 0, 0, 0, getMaxScrollY());
+                        postInvalidateOnAnimation();
+                    }
+                } else {
+                    // only a tap that stays on one cell toggles it
+                    int index = getCellAt(downX, downY);
+                    if (index >= 0 && index == getCellAt(event.getX(), event.getY())) {
+                        toggle(index);
+                        accessibilityHelper.sendEventForVirtualView(index, AccessibilityEvent.TYPE_VIEW_CLICKED);
+                        performClick();
+                    }
+                }
+                recycleVelocityTracker();
+                break;
+            case MotionEvent.ACTION_CANCEL:
+                recycleVelocityTracker();
+                break;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean performClick() {
+        final boolean handled = super.performClick();
+        if (!handled) {
+            // View only makes a sound effect if the onClickListener was
+            // called, so we'll need to make one here instead.
+            playSoundEffect(SoundEffectConstants.CLICK);
+        }
+        return handled;
+    }
+
+    private void recycleVelocityTracker() {
+        if (velocityTracker != null) {
+            velocityTracker.recycle();
+            velocityTracker = null;
+        }
+        isDragging = false;
+    }
+
+    @Override
+    public void computeScroll() {
+        if (scroller.computeScrollOffset()) {
+            scrollTo(0, scroller.getCurrY());
+            postInvalidateOnAnimation();
+        }
+    }
+
+    @Override
+    public void scrollTo(int x, int y) {
+        super.scrollTo(0, Math.max(0, Math.min(y, getMaxScrollY())));
+    }
+
+    @Override
+    protected void onScrollChanged(int l, int t, int oldl, int oldt) {
+        super.onScrollChanged(l, t, oldl, oldt);
+        // the set of visible virtual views changed
+        accessibilityHelper.invalidateRoot();
+    }
+
+    @Override
+    protected boolean dispatchHoverEvent(MotionEvent event) {
+        return accessibilityHelper.dispatchHoverEvent(event) || super.dispatchHoverEvent(event);
+    }
+
+    @Override
+    protected int computeVerticalScrollRange() {
+        return getContentHeight();
+    }
+
+    @Override
+    protected int computeVerticalScrollOffset() {
+        return getScrollY();
+    }
+
+    @Override
+    protected int computeVerticalScrollExtent() {
+        return getHeight();
+    }
+
+    /**
+     * @return the cell under a point in view coordinates, or -1 if the point is between cells.
+     */
+    public int getCellAt(float x, float y) {
+        int contentX = (int) x - getPaddingLeft();
+        int contentY = (int) y + getScrollY() - getPaddingTop();
+        if (contentX < 0 || contentY < 0) {
+            return -1;
+        }
+        int columnWidth = cellWidth + cellSpacing;
+        int rowHeight = cellHeight + cellSpacing;
+        int column = contentX / columnWidth;
+        int row = contentY / rowHeight;
+        if (column >= columnCount || contentX % columnWidth >= cellWidth || contentY % rowHeight >= cellHeight) {
+            return -1;
+        }
+        int index = row * columnCount + column;
+        return index < cellCount ? index : -1;
+    }
+
+    private void getCellBounds(int index, Rect bounds) {
+        int left = getPaddingLeft() + (index % columnCount) * (cellWidth + cellSpacing);
+        int top = getPaddingTop() + (index / columnCount) * (cellHeight + cellSpacing) - getScrollY();
+        bounds.set(left, top, left + cellWidth, top + cellHeight);
+    }
+
+    private int getContentHeight() {
+        int rowCount = (cellCount + columnCount - 1) / columnCount;
+        int rowsHeight = rowCount > 0 ? rowCount * (cellHeight + cellSpacing) - cellSpacing : 0;
+        return rowsHeight + getPaddingTop() + getPaddingBottom();
+    }
+
+    private int getMaxScrollY() {
+        return Math.max(0, getContentHeight() - getHeight());
+    }
+
+    private int getFirstVisibleRow() {
+        // the first row whose cells reach below the top edge, rows only showing spacing are skipped
+        int top = getScrollY() - getPaddingTop() - cellHeight;
+        return top < 0 ? 0 : top / (cellHeight + cellSpacing) + 1;
+    }
+
+    private int getLastVisibleRow() {
+        int rowCount = (cellCount + columnCount - 1) / columnCount;
+        int lastRow = (getScrollY() + getHeight() - getPaddingTop() - 1) / (cellHeight + cellSpacing);
+        return Math.min(rowCount - 1, lastRow);
+    }
+
+    private int getLastVisibleColumn() {
+        int lastColumn = (getWidth() - getPaddingLeft() - 1) / (cellWidth + cellSpacing);
+        return Math.min(columnCount - 1, lastColumn);
+    }
+
+    private boolean isCellVisible(int index) {
+        int row = index / columnCount;
+        int column = index % columnCount;
+        return row >= getFirstVisibleRow() && row <= getLastVisibleRow() && column <= getLastVisibleColumn();
+    }
+
+    private void startAnimation(int index) {
+        if (animCount == animCells.length) {
+            int capacity = animCount * 2;
+            animCells = copyOf(animCells, capacity);
+            animStartTimes = copyOf(animStartTimes, capacity);
+            animFractions = copyOf(animFractions, capacity);
+        }
+        int anim = animCount++;
+        animCells[anim] = index;
+        // the start time is taken from the first frame the animation is in
+        animStartTimes[anim] = -1;
+        animFractions[anim] = 0;
+        scheduleFrame();
+    }
+
+    // package-private for tests, which drive the animations with their own frame times
+    void stepAnimations(long frameTimeMillis) {
+        int i = 0;
+        while (i < animCount) {
+            if (animStartTimes[i] < 0) {
+                animStartTimes[i] = frameTimeMillis;
+            }
+            float fraction = duration > 0 ? (float) (frameTimeMillis - animStartTimes[i]) / duration : 1;
+            if (fraction >= 1) {
+                removeAnimation(i);
+                continue;
+            }
+            animFractions[i] = fraction;
+            i++;
+        }
+    }
+
+    /**
+     * @return the interpolated progress of the animation of a cell, or -1 if it is not animating.
+     */
+    float getAnimationProgress(int index) {
+        int anim = findAnimation(index);
+        return anim < 0 ? -1 : interpolator.getInterpolation(animFractions[anim]);
+    }
+
+    private void removeAnimation(int anim) {
+        animCount--;
+        animCells[anim] = animCells[animCount];
+        animStartTimes[anim] = animStartTimes[animCount];
+        animFractions[anim] = animFractions[animCount];
+    }
+
+    private int findAnimation(int index) {
+        for (int i = 0; i < animCount; i++) {
+            if (animCells[i] == index) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void scheduleFrame() {
+        if (!frameScheduled) {
+            frameScheduled = true;
+            Choreographer.getInstance().postFrameCallback(frameCallback);
+        }
+    }
+
+    private static int[] copyOf(int[] array, int length) {
+        int[] copy = new int[length];
+        System.arraycopy(array, 0, copy, 0, Math.min(array.length, length));
+        return copy;
+    }
+
+    private static long[] copyOf(long[] array, int length) {
+        long[] copy = new long[length];
+        System.arraycopy(array, 0, copy, 0, Math.min(array.length, length));
+        return copy;
+    }
+
+    private static float[] copyOf(float[] array, int length) {
+        float[] copy = new float[length];
+        System.arraycopy(array, 0, copy, 0, Math.min(array.length, length));
+        return copy;
+    }
+
+    public int dp2px(float dpValue) {
+        float scale = getResources().getDisplayMetrics().density;
+        return (int) (dpValue * scale + 0.5f);
+    }
+
+    public boolean isChecked(int index) {
+        checkIndex(index);
+        return (checkedBits[index >> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Sets the checked state of a cell. Like {@link SwitchButton#setChecked(boolean)}, this is
+     * ignored while the cell is animating, the animations can not be reversed midway.
+     */
+    public void setChecked(int index, boolean checked) {
+        checkIndex(index);
+        if (isChecked(index) == checked || findAnimation(index) >= 0) {
+            return;
+        }
+        if (checked) {
+            checkedBits[index >> 6] |= 1L << index;
+        } else {
+            checkedBits[index >> 6] &= ~(1L << index);
+        }
+
+        if (isAttachedToWindow() && isLaidOut() && isCellVisible(index)) {
+            startAnimation(index);
+        }
+        invalidate();
+        accessibilityHelper.invalidateVirtualView(index);
+
+        if (onCellCheckedChangeListener != null) {
+            onCellCheckedChangeListener.onCellCheckedChanged(this, index, checked);
+        }
+    }
+
+    public void toggle(int index) {
+        setChecked(index, !isChecked(index));
+    }
+
+    private static int checkCellWidth(int cellWidth) {
+        // the height is half the width and must not be empty
+        if (cellWidth < 2) {
+            throw new IllegalArgumentException("cellWidth must be at least 2");
+        }
+        return cellWidth;
+    }
+
+    private static int checkCellSpacing(int cellSpacing) {
+        if (cellSpacing < 0) {
+            throw new IllegalArgumentException("cellSpacing must not be negative");
+        }
+        return cellSpacing;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= cellCount) {
+            throw new IndexOutOfBoundsException("index " + index + ", cell count " + cellCount);
+        }
+    }
+
+    public int getCellCount() {
+        return cellCount;
+    }
+
+    /**
+     * Sets the number of cells, checked states of the cells kept are preserved.
+     */
+    public void setCellCount(int cellCount) {
+        if (cellCount < 0) {
+            throw new IllegalArgumentException("cellCount must not be negative");
+        }
+        long[] bits = copyOf(checkedBits, (cellCount + 63) >> 6);
+        if (cellCount % 64 != 0 && bits.length > 0) {
+            // clear the bits of removed cells in the last word
+            bits[bits.length - 1] &= (1L << cellCount) - 1;
+        }
+        checkedBits = bits;
+        this.cellCount = cellCount;
+
+        int i = 0;
+        while (i < animCount) {
+            if (animCells[i] >= cellCount) {
+                removeAnimation(i);
+            } else {
+                i++;
+            }
+        }
+        scrollTo(0, getScrollY());
+        requestLayout();
+        invalidate();
+    }
+
+    public int getColumnCount() {
+        return columnCount;
+    }
+
+    public void setColumnCount(int columnCount) {
+        if (columnCount < 1) {
+            throw new IllegalArgumentException("columnCount must be at least 1");
+        }
+        this.columnCount = columnCount;
+        scrollTo(0, getScrollY());
+        requestLayout();
+        invalidate();
+    }
+
+    public int getCellWidth() {
+        return cellWidth;
+    }
+
+    /**
+     * Sets the width of a cell in pixels, the height is half of it like {@link SwitchButton}.
+     */
+    public void setCellWidth(int cellWidth) {
+        this.cellWidth = checkCellWidth(cellWidth);
+        this.cellHeight = cellWidth / 2;
+        scrollTo(0, getScrollY());
+        requestLayout();
+        invalidate();
+    }
+
+    public int getCellSpacing() {
+        return cellSpacing;
+    }
+
+    public void setCellSpacing(int cellSpacing) {
+        this.cellSpacing = checkCellSpacing(cellSpacing);
+        scrollTo(0, getScrollY());
+        requestLayout();
+        invalidate();
+    }
+
+    public int getDuration() {
+        return duration;
+    }
+
+    public void setDuration(int duration) {
+        this.duration = duration;
+    }
+
+    public SwitchRenderer getRenderer() {
+        return renderer;
+    }
+
+    /**
+     * Sets the renderer drawing every cell, by default the {@link DayNightRenderer} shared with
+     * {@link SwitchButton}.
+     */
+    public void setRenderer(SwitchRenderer renderer) {
+        if (renderer == null) {
+            throw new IllegalArgumentException("renderer must not be null");
+        }
+        this.renderer = renderer;
+        invalidate();
+    }
+
+    /**
+     * @return the number of cells drawn by the last frame.
+     */
+    public int getDrawnCellCount() {
+        return drawnCellCount;
+    }
+
+    /**
+     * @return the number of cells currently animating.
+     */
+    public int getAnimatingCellCount() {
+        return animCount;
+    }
+
+    public OnCellCheckedChangeListener getOnCellCheckedChangeListener() {
+        return onCellCheckedChangeListener;
+    }
+
+    public void setOnCellCheckedChangeListener(OnCellCheckedChangeListener onCellCheckedChangeListener) {
+        this.onCellCheckedChangeListener = onCellCheckedChangeListener;
+    }
+
+    public CellDescriptionProvider getCellDescriptionProvider() {
+        return cellDescriptionProvider;
+    }
+
+    /**
+     * Sets what accessibility services announce for a cell, "Switch 1", "Switch 2"... by default.
+     */
+    public void setCellDescriptionProvider(CellDescriptionProvider cellDescriptionProvider) {
+        this.cellDescriptionProvider = cellDescriptionProvider;
+        accessibilityHelper.invalidateRoot();
+    }
+
+    private CharSequence getCellDescription(int index) {
+        if (cellDescriptionProvider != null) {
+            return cellDescriptionProvider.getCellDescription(this, index);
+        }
+        return getContext().getString(R.string.switch_grid_cell, index + 1);
+    }
+
+    /**
+     * Exposes the visible cells as virtual views, so they can be explored, read out and toggled
+     * by accessibility services like separate switches.
+     */
+    private class CellAccessibilityHelper extends ExploreByTouchHelper {
+        CellAccessibilityHelper() {
+            super(SwitchGrid.this);
+        }
+
+        @Override
+        protected int getVirtualViewAt(float x, float y) {
+            int index = getCellAt(x, y);
+            return index >= 0 ? index : INVALID_ID;
+        }
+
+        @Override
+        protected void getVisibleVirtualViews(List<Integer> virtualViewIds) {
+            int lastRow = getLastVisibleRow();
+            int lastColumn = getLastVisibleColumn();
+            for (int row = getFirstVisibleRow(); row <= lastRow; row++) {
+                for (int column = 0; column <= lastColumn; column++) {
+                    int index = row * columnCount + column;
+                    if (index >= cellCount) {
+                        return;
+                    }
+                    virtualViewIds.add(index);
+                }
+            }
+        }
+
+        @Override
+        protected void onPopulateEventForVirtualView(int virtualViewId, AccessibilityEvent event) {
+            if (virtualViewId >= cellCount) {
+                // the cell was removed since the event was requested
+                event.setContentDescription("");
+                return;
+            }
+            event.setClassName(Switch.class.getName());
+            event.setContentDescription(getCellDescription(virtualViewId));
+            event.setChecked(isChecked(virtualViewId));
+        }
+
+        @Override
+        protected void onPopulateNodeForVirtualView(int virtualViewId, AccessibilityNodeInfoCompat node) {
+            if (virtualViewId >= cellCount) {
+                // bounds and text are mandatory even for a cell that is gone
+                node.setContentDescription("");
+                node.setBoundsInParent(cellBounds);
+                return;
+            }
+            getCellBounds(virtualViewId, cellBounds);
+            node.setBoundsInParent(cellBounds);
+            node.setClassName(Switch.class.getName());
+            node.setContentDescription(getCellDescription(virtualViewId));
+            node.setCheckable(true);
+            node.setChecked(isChecked(virtualViewId));
+            node.setEnabled(isEnabled());
+            node.setClickable(true);
+            node.addAction(AccessibilityNodeInfoCompat.ACTION_CLICK);
+        }
+
+        @Override
+        protected boolean onPerformActionForVirtualView(int virtualViewId, int action, Bundle arguments) {
+            if (action != AccessibilityNodeInfoCompat.ACTION_CLICK || virtualViewId >= cellCount || !isEnabled()) {
+                return false;
+            }
+            toggle(virtualViewId);
+            sendEventForVirtualView(virtualViewId, AccessibilityEvent.TYPE_VIEW_CLICKED);
+            return true;
+        }
+    }
+
+    public interface CellDescriptionProvider {
+        /**
+         * @param grid  The grid holding the cell.
+         * @param index The index of the cell.
+         * @return the text accessibility services announce for the cell.
+         */
+        CharSequence getCellDescription(SwitchGrid grid, int index);
+    }
+
+    public interface OnCellCheckedChangeListener {
+        /**
+         * Called when the checked state of a cell has changed.
+         *
+         * @param grid      The grid holding the cell.
+         * @param index     The index of the cell.
+         * @param isChecked The new checked state of the cell.
+         */
+        void onCellCheckedChanged(SwitchGrid grid, int index, boolean isChecked);
+    }
+}
@@ -0,0 +1,124 @@
+package com.leroy.switchbutton.widget;
+
+import android.content.res.Resources;
+
+/**
+ * Geometry and colors of a switch, prepared by the widget before each draw and
+ * handed to its {@link SwitchRenderer}.
+ */
+public class SwitchRenderContext {
+    private Resources resources;
+    private float density;
+    private int width;
+    private int height;
+    private int spotPadding;
+
+    private int switchOnColor;
+    private int switchOffColor;
+    private int spotOnColor;
+    private int spotOnColorIn;
+    private int spotOffColor;
+    private int spotOffColorIn;
+    private int switchOnStrokeColor;
+    private int switchOffStrokeColor;
+
+    private OverdrawCounter overdrawCounter;
+
+    void setGeometry(Resources resources, int width, int height, int spotPadding) {
+        this.resources = resources;
+        this.density = resources.getDisplayMetrics().density;
+        this.width = width;
+        this.height = height;
+        this.spotPadding = spotPadding;
+    }
+
+    void setColors(int switchOnColor, int switchOffColor, int spotOnColor, int spotOnColorIn,
+                   int spotOffColor, int spotOffColorIn, int switchOnStrokeColor, int switchOffStrokeColor) {
+        this.switchOnColor = switchOnColor;
+        this.switchOffColor = switchOffColor;
+        this.spotOnColor = spotOnColor;
+        this.spotOnColorIn = spotOnColorIn;
+        this.spotOffColor = spotOffColor;
+        this.spotOffColorIn = spotOffColorIn;
+        this.switchOnStrokeColor = switchOnStrokeColor;
+        this.switchOffStrokeColor = switchOffStrokeColor;
+    }
+
+    void setOverdrawCounter(OverdrawCounter overdrawCounter) {
+        this.overdrawCounter = overdrawCounter;
+    }
+
+    OverdrawCounter getOverdrawCounter() {
+        return overdrawCounter;
+    }
+
+    /**
+     * @return a key identifying the geometry, renderers cache their precomputed resources under it.
+     */
+    public long getGeometryKey() {
+        return ((long) width & 0xFFFF) << 48
+                | ((long) height & 0xFFFF) << 32
+                | ((long) spotPadding & 0xFFFF) << 16
+                | ((long) Math.round(density * 100) & 0xFFFF);
+    }
+
+    public int dp2px(float dpValue) {
+        return (int) (dpValue * density + 0.5f);
+    }
+
+    public float dp2pxFloat(float dpValue) {
+        return dpValue * density + 0.5f;
+    }
+
+    public Resources getResources() {
+        return resources;
+    }
+
+    public float getDensity() {
+        return density;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getSpotPadding() {
+        return spotPadding;
+    }
+
+    public int getSwitchOnColor() {
+        return switchOnColor;
+    }
+
+    public int getSwitchOffColor() {
+        return switchOffColor;
+    }
+
+    public int getSpotOnColor() {
+        return spotOnColor;
+    }
+
+    public int getSpotOnColorIn() {
+        return spotOnColorIn;
+    }
+
+    public int getSpotOffColor() {
+        return spotOffColor;
+    }
+
+    public int getSpotOffColorIn() {
+        return spotOffColorIn;
+    }
+
+    public int getSwitchOnStrokeColor() {
+        return switchOnStrokeColor;
+    }
+
+    public int getSwitchOffStrokeColor() {
+        return switchOffStrokeColor;
+    }
+}
@@ -0,0 +1,23 @@
+package com.leroy.switchbutton.widget;
+
+import android.graphics.Canvas;
+
+/**
+ * Draws the visuals of a switch. The canvas is translated so that the switch
+ * occupies (0, 0) to ({@link SwitchRenderContext#getWidth()}, {@link SwitchRenderContext#getHeight()}).
+ * Renderers are only called on the UI thread, so one instance may be shared by many switches.
+ */
+public interface SwitchRenderer {
+
+    enum State {
+        SWITCH_ANIMATION_OFF, SWITCH_ANIMATION_ON, SWITCH_ON, SWITCH_OFF
+    }
+
+    /**
+     * @param canvas   The canvas to draw on.
+     * @param context  Geometry and colors of the switch.
+     * @param state    The state to draw.
+     * @param progress Progress of the animation from 0 to 1, only meaningful for the animation states.
+     */
+    void draw(Canvas canvas, SwitchRenderContext context, State state, float progress);
+}